@@ -0,0 +1,165 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.scijava.util.Manifest;
+import org.scijava.util.POM;
+import org.scijava.util.Types;
+
+/**
+ * Project metadata of the artifact (JAR file or class folder) containing a
+ * given class, as gleaned from its Maven POM and JAR manifest.
+ * <p>
+ * Parsing POMs and manifests means reopening JAR files and evaluating XPath
+ * expressions, so the metadata of each artifact is cached, keyed on its
+ * location. The cache entry is refreshed if the artifact is modified.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public final class ArtifactMetadata {
+
+	/** Cached metadata, keyed on code source location. */
+	private static final Map<String, ArtifactMetadata> CACHE =
+		new ConcurrentHashMap<>();
+
+	private final long lastModified;
+	private final boolean hasPOM;
+	private final String groupId;
+	private final String artifactId;
+	private final String version;
+	private final String projectURL;
+	private final String scmURL;
+	private final String scmTag;
+	private final String sourceDirectory;
+	private final String implementationBuild;
+
+	private ArtifactMetadata(final Class<?> c, final long lastModified) {
+		this.lastModified = lastModified;
+		final POM pom = POM.getPOM(c);
+		hasPOM = pom != null;
+		if (hasPOM) {
+			groupId = pom.getGroupId();
+			artifactId = pom.getArtifactId();
+			version = pom.getVersion();
+			projectURL = pom.getProjectURL();
+			scmURL = pom.getSCMURL();
+			scmTag = pom.getSCMTag();
+			sourceDirectory = pom.cdata("//build/sourceDirectory");
+		}
+		else {
+			groupId = artifactId = version = null;
+			projectURL = scmURL = scmTag = sourceDirectory = null;
+		}
+		final Manifest m = Manifest.getManifest(c);
+		implementationBuild = m == null ? null : m.getImplementationBuild();
+	}
+
+	/** Gets the metadata of the artifact containing the given class. */
+	public static ArtifactMetadata of(final Class<?> c) {
+		final URL location = Types.location(c);
+		if (location == null) return new ArtifactMetadata(c, 0);
+		final String key = location.toString();
+		final long lastModified = lastModified(location);
+		final ArtifactMetadata cached = CACHE.get(key);
+		if (cached != null && cached.lastModified == lastModified) return cached;
+		final ArtifactMetadata metadata = new ArtifactMetadata(c, lastModified);
+		CACHE.put(key, metadata);
+		return metadata;
+	}
+
+	/** Gets whether the artifact has a Maven POM. */
+	public boolean hasPOM() {
+		return hasPOM;
+	}
+
+	/** Gets the POM's {@code <groupId>}, or null if none. */
+	public String groupId() {
+		return groupId;
+	}
+
+	/** Gets the POM's {@code <artifactId>}, or null if none. */
+	public String artifactId() {
+		return artifactId;
+	}
+
+	/** Gets the POM's {@code <version>}, or null if none. */
+	public String version() {
+		return version;
+	}
+
+	/** Gets the artifact's {@code groupId:artifactId:version}. */
+	public String coordinate() {
+		return groupId + ":" + artifactId + ":" + version;
+	}
+
+	/** Gets the POM's {@code <url>}, or null if none. */
+	public String projectURL() {
+		return projectURL;
+	}
+
+	/** Gets the POM's {@code <scm><url>}, or null if none. */
+	public String scmURL() {
+		return scmURL;
+	}
+
+	/** Gets the POM's {@code <scm><tag>}, or null if none. */
+	public String scmTag() {
+		return scmTag;
+	}
+
+	/** Gets the POM's {@code <build><sourceDirectory>}, or null if none. */
+	public String sourceDirectory() {
+		return sourceDirectory;
+	}
+
+	/** Gets the manifest's {@code Implementation-Build}, or null if none. */
+	public String implementationBuild() {
+		return implementationBuild;
+	}
+
+	// -- Helper methods --
+
+	private static long lastModified(final URL location) {
+		if (!"file".equals(location.getProtocol())) return 0;
+		try {
+			return new File(location.toURI()).lastModified();
+		}
+		catch (final URISyntaxException | IllegalArgumentException exc) {
+			return 0;
+		}
+	}
+}
@@ -34,16 +34,24 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.PatternSyntaxException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.scijava.Context;
 import org.scijava.event.ContextDisposingEvent;
 import org.scijava.event.EventHandler;
 import org.scijava.log.LogService;
+import org.scijava.module.event.ModulesListEvent;
 import org.scijava.plugin.Parameter;
+import org.scijava.plugin.PluginInfo;
 import org.scijava.plugin.PluginService;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsListEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
+import org.scijava.search.stats.SearchStatsService;
+import org.scijava.search.stats.SearcherStats;
 import org.scijava.thread.ThreadService;
-import org.scijava.util.DebugUtils;
 
 /**
  * Default implementation of {@link SearchOperation}.
@@ -55,6 +63,15 @@ public class DefaultSearchOperation implements SearchOperation {
 	/** Delay in milliseconds before invoking the searchers. */
 	private static final int DELAY = 200;
 
+	/**
+	 * Delay in milliseconds before invoking {@link SearcherCost#isExpensive()
+	 * expensive} searchers, so that they are not hit on every pause in typing.
+	 */
+	private static final int EXPENSIVE_DELAY = 750;
+
+	/** Maximum number of expensive searchers to run at once. */
+	private static final int THROUGHPUT_THREADS = 2;
+
 	private final SearchListener[] listeners;
 	private final List<SearchAttempt> currentSearches = new ArrayList<>();
 
@@ -70,12 +87,45 @@ public class DefaultSearchOperation implements SearchOperation {
 	@Parameter
 	private LogService log;
 
+	@Parameter(required = false)
+	private SearchStatsService statsService;
+
+	/**
+	 * Cached {@link Searcher} instances, reused across queries. Discarded
+	 * whenever {@link Searcher} plugins are added or removed.
+	 */
+	private volatile List<Searcher> searchers;
+
+	/**
+	 * Recent results of each searcher, so that repeated and refined queries
+	 * need not search everything again. Discarded whenever the searchers or the
+	 * available modules change.
+	 */
+	private final Map<Searcher, SearchResultCache> caches =
+		new ConcurrentHashMap<>();
+
+	/** Cost class of each searcher, as declared by its plugin metadata. */
+	private final Map<Class<?>, SearcherCost> costs = new ConcurrentHashMap<>();
+
+	/** Bounded lane for expensive searchers; created on first use. */
+	private ExecutorService throughputLane;
+
 	private boolean active = true;
 
-	private String query;
+	/**
+	 * The current query, parsed once for all searchers.
+	 * <p>
+	 * NB: Never null, so that a search launched by {@link #setFuzzy} before any
+	 * call to {@link #search} cannot fail.
+	 * </p>
+	 */
+	private SearchQuery query = SearchQuery.parse("");
 	private boolean fuzzy;
 	private long lastModifyTime;
 
+	/** Modification time of the query most recently searched. */
+	private long launched;
+
 	public DefaultSearchOperation(final Context context,
 		final SearchListener... callbacks)
 	{
@@ -89,22 +139,30 @@ public class DefaultSearchOperation implements SearchOperation {
 				catch (final InterruptedException exc) {
 					log.error(exc);
 				}
-				if (lastModifyTime == 0) continue; // nothing modified yet!
-				if (System.currentTimeMillis() - lastModifyTime < DELAY) {
+				final long modified = lastModifyTime;
+				if (modified == 0) continue; // nothing modified yet!
+				final long idle = System.currentTimeMillis() - modified;
+				if (idle < DELAY) {
 					// Not enough time elapsed since last modification; wait longer.
 					continue;
 				}
-				lastModifyTime = 0;
-
-				// Time to start a new search! Spawn one new thread per searcher.
-				cancelCurrentSearches();
-				for (final Searcher searcher : searchers()) {
-					final SearchAttempt search = new SearchAttempt(searcher);
-					currentSearches.add(search);
-					threadService.run(search);
+
+				if (launched != modified) {
+					// Time to start a new search! First, the cheap searchers.
+					cancelCurrentSearches();
+					launch(false);
+					launched = modified;
+				}
+				if (idle >= EXPENSIVE_DELAY) {
+					// The user has settled on this query; now the expensive ones.
+					launch(true);
+					if (lastModifyTime == modified) lastModifyTime = 0;
 				}
 			}
 			cancelCurrentSearches();
+			synchronized (this) {
+				if (throughputLane != null) throughputLane.shutdownNow();
+			}
 		});
 	}
 
@@ -116,7 +174,7 @@ public class DefaultSearchOperation implements SearchOperation {
 
 	@Override
 	public void search(final String text) {
-		query = text;
+		query = SearchQuery.parse(text);
 		refreshModifyTime();
 	}
 
@@ -130,20 +188,99 @@ public class DefaultSearchOperation implements SearchOperation {
 		terminate();
 	}
 
+	@EventHandler
+	public void onEvent(final PluginsAddedEvent evt) {
+		invalidateSearchers(evt);
+	}
+
+	@EventHandler
+	public void onEvent(final PluginsRemovedEvent evt) {
+		invalidateSearchers(evt);
+	}
+
+	@EventHandler
+	public void onEvent(@SuppressWarnings("unused") final ModulesListEvent evt) {
+		caches.clear();
+	}
+
 	// -- Helper methods --
 
 	private List<Searcher> searchers() {
-		final List<Searcher> searchers = //
-			pluginService.createInstancesOfType(Searcher.class);
+		final List<Searcher> searchers = allSearchers();
 
 		// Check for a searcher that wants exclusive rights.
 		final Optional<Searcher> exclusive = searchers.stream().filter(
-			searcher -> searcher.exclusive(query)).findFirst();
+			searcher -> searcher.exclusive(query.text())).findFirst();
 
 		return exclusive.isPresent() ? //
 			Collections.singletonList(exclusive.get()) : searchers;
 	}
 
+	/** Gets the cached searcher instances, creating them as needed. */
+	private List<Searcher> allSearchers() {
+		List<Searcher> result = searchers;
+		if (result == null) {
+			synchronized (this) {
+				result = searchers;
+				if (result == null) {
+					result = Collections.unmodifiableList(//
+						pluginService.createInstancesOfType(Searcher.class));
+					searchers = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/** Discards the cached searchers if the event concerns any of them. */
+	private void invalidateSearchers(final PluginsListEvent evt) {
+		for (final PluginInfo<?> info : evt.getItems()) {
+			if (Searcher.class.isAssignableFrom(info.getPluginType())) {
+				searchers = null;
+				caches.clear();
+				costs.clear();
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Spawns one search per cheap or expensive searcher. Cheap searchers run
+	 * immediately on the latency-critical lane, i.e. the {@link ThreadService}.
+	 * Expensive ones run on a small, bounded throughput lane, so that they never
+	 * compete with the local searchers users care about most.
+	 */
+	private void launch(final boolean expensive) {
+		for (final Searcher searcher : searchers()) {
+			if (cost(searcher).isExpensive() != expensive) continue;
+			final SearchAttempt search = new SearchAttempt(searcher);
+			currentSearches.add(search);
+			// NB: Blocking searchers need not tie up a platform thread.
+			if (searcher.blocking() && VirtualThreads.isEnabled()) {
+				VirtualThreads.run(search);
+			}
+			else if (expensive) throughputLane().execute(search);
+			else threadService.run(search);
+		}
+	}
+
+	private SearcherCost cost(final Searcher searcher) {
+		return costs.computeIfAbsent(searcher.getClass(), c -> SearcherCost.of(//
+			pluginService.getPlugin(searcher.getClass(), Searcher.class)));
+	}
+
+	private synchronized ExecutorService throughputLane() {
+		if (throughputLane == null) {
+			throughputLane = Executors.newFixedThreadPool(THROUGHPUT_THREADS, r -> {
+				final Thread t = threadService.newThread(r);
+				t.setDaemon(true);
+				t.setPriority(Thread.MIN_PRIORITY);
+				return t;
+			});
+		}
+		return throughputLane;
+	}
+
 	private void cancelCurrentSearches() {
 		currentSearches.forEach(search -> search.invalidate());
 		currentSearches.clear();
@@ -158,6 +295,7 @@ public class DefaultSearchOperation implements SearchOperation {
 	private class SearchAttempt implements Runnable {
 
 		private final Searcher searcher;
+		private final long scheduled = System.nanoTime();
 		private boolean valid = true;
 
 		private SearchAttempt(final Searcher searcher) {
@@ -170,51 +308,50 @@ public class DefaultSearchOperation implements SearchOperation {
 
 		@Override
 		public void run() {
-			final boolean exclusive = searcher.exclusive(query);
-			final boolean supported = searcher.supports(query);
+			// NB: Read the query once, in case it changes while we search.
+			final SearchQuery query = DefaultSearchOperation.this.query;
+			final String text = query.text();
+			final boolean fuzzy = DefaultSearchOperation.this.fuzzy;
+			final long start = System.nanoTime();
+			final SearcherStats stats = statsService == null ? null : //
+				statsService.stats(searcher);
+			final boolean exclusive = searcher.exclusive(text);
+			// NB: An exclusive searcher interprets the text itself. Otherwise, the
+			// query decides whether the searcher can contribute at all.
+			final boolean supported = searcher.supports(text) && //
+				(exclusive || query.admits(searcher));
 			final boolean enabled = searchService.enabled(searcher);
-			if (!valid) return;
+			if (!valid) {
+				if (stats != null) stats.canceled();
+				return;
+			}
 			List<SearchResult> results;
+			boolean searched = false, failed = false;
 			try {
 				if (!supported) results = null;
 				else if (!enabled) results = Collections.emptyList();
-				else results = searcher.search(query, fuzzy);
+				else {
+					searched = true;
+					results = caches.computeIfAbsent(searcher, //
+						s -> new SearchResultCache()).search(searcher, exclusive ? //
+							SearchQuery.literal(text) : query, fuzzy);
+				}
 			}
 			catch (final Throwable t) {
+				failed = true;
 				// NB: Be defensive about errors.
-				results = Collections.singletonList(new SearchResult() {
-
-					private final Map<String, String> props = //
-						Collections.singletonMap(null, errorMessage());
-
-					@Override
-					public String name() {
-						return "<error>";
-					}
-
-					@Override
-					public String iconPath() {
-						return null;
-					}
-
-					@Override
-					public Map<String, String> properties() {
-						return props;
-					}
-
-					private String errorMessage() {
-						if (t instanceof PatternSyntaxException) {
-							return pre(t.getMessage());
-						}
-						return pre(DebugUtils.getStackTrace(t));
-					}
-
-					private String pre(final String s) {
-						return "<pre style=\"font-size: 0.9em\">" + s + "</pre>";
-					}
-				});
+				results = Collections.singletonList(new ErrorSearchResult(t));
+			}
+			final long end = System.nanoTime();
+			if (!valid) {
+				if (stats != null) stats.canceled();
+				return;
+			}
+			if (stats != null && searched) {
+				if (failed) stats.errored(start - scheduled, end - start);
+				else stats.completed(start - scheduled, end - start, //
+					results == null ? 0 : results.size());
 			}
-			if (!valid) return;
 			for (final SearchListener l : listeners) {
 				l.searchCompleted(new SearchEvent(searcher, results, exclusive));
 			}
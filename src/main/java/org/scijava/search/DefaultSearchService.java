@@ -29,12 +29,34 @@
 
 package org.scijava.search;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.scijava.event.EventHandler;
+import org.scijava.log.LogService;
 import org.scijava.plugin.AbstractSingletonService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.event.PluginsAddedEvent;
+import org.scijava.plugin.event.PluginsListEvent;
+import org.scijava.plugin.event.PluginsRemovedEvent;
 import org.scijava.prefs.PrefService;
+import org.scijava.search.stats.SearchStatsService;
+import org.scijava.search.stats.SearcherStats;
 import org.scijava.service.Service;
+import org.scijava.thread.ThreadService;
 
 /**
  * Default implementation of {@link SearchService}.
@@ -46,21 +68,235 @@ public class DefaultSearchService extends
 	AbstractSingletonService<SearchActionFactory> implements SearchService
 {
 
+	/** Name of the queue used to persist enabled flags in the background. */
+	private static final String PREFS_QUEUE = "scijava-search-prefs";
+
 	@Parameter
 	private PrefService prefService;
 
+	@Parameter
+	private ThreadService threadService;
+
+	@Parameter
+	private LogService log;
+
+	@Parameter(required = false)
+	private SearchStatsService statsService;
+
+	/** Cached enabled flags, keyed on searcher class name. */
+	private final Map<String, Boolean> enabledFlags = new ConcurrentHashMap<>();
+
+	/** Searcher instances used for synchronous searches. */
+	private volatile List<Searcher> searchers;
+
+	@Override
+	public List<SearchEvent> searchNow(final String query,
+		final SearchOptions options)
+	{
+		final long start = System.nanoTime();
+		final List<Future<SearchEvent>> futures = new ArrayList<>();
+		tasks(query, options).forEach((searcher, task) -> futures.add(run(
+			searcher, task)));
+		return collect(futures, start, options.getTimeout());
+	}
+
+	@Override
+	public Map<String, List<SearchEvent>> searchNow(final List<String> queries,
+		final SearchOptions options)
+	{
+		final long start = System.nanoTime();
+
+		// Fan out all queries and searchers at once.
+		// NB: Only searchers of in-memory data may share the common fork/join
+		// pool; blocking ones would starve every other user of it.
+		final ForkJoinPool pool = ForkJoinPool.commonPool();
+		final Map<String, List<Future<SearchEvent>>> futures =
+			new LinkedHashMap<>();
+		for (final String query : queries) {
+			if (futures.containsKey(query)) continue;
+			final List<Future<SearchEvent>> queryFutures = new ArrayList<>();
+			tasks(query, options).forEach((searcher, task) -> queryFutures.add(
+				isCpuBound(searcher) ? pool.submit(task) : run(searcher, task)));
+			futures.put(query, queryFutures);
+		}
+
+		final Map<String, List<SearchEvent>> results = new LinkedHashMap<>();
+		futures.forEach((query, f) -> results.put(query, //
+			collect(f, start, options.getTimeout())));
+		return results;
+	}
+
 	@Override
 	public boolean enabled(final Searcher s) {
-		final String enabled = prefService.get(s.getClass(), "enabled");
+		final Class<? extends Searcher> c = s.getClass();
+		return enabledFlags.computeIfAbsent(c.getName(), name -> loadEnabled(c));
+	}
+
+	@Override
+	public void setEnabled(final Searcher s, final boolean enabled) {
+		final Class<? extends Searcher> c = s.getClass();
+		enabledFlags.put(c.getName(), enabled);
+		// NB: Preferences may be backed by disk; persist off the calling thread.
+		// The named queue keeps successive writes in their original order.
+		threadService.queue(PREFS_QUEUE, //
+			() -> prefService.put(c, "enabled", enabled));
+	}
+
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(final PluginsAddedEvent evt) {
+		invalidate(evt);
+	}
+
+	@EventHandler
+	protected void onEvent(final PluginsRemovedEvent evt) {
+		invalidate(evt);
+	}
+
+	// -- Helper methods --
+
+	private boolean loadEnabled(final Class<? extends Searcher> c) {
+		final String enabled = prefService.get(c, "enabled");
 		if (enabled != null) return Boolean.valueOf(enabled);
 		// Get the default value from enabled property of PluginInfo.
 		final PluginInfo<Searcher> info = //
-			pluginService().getPlugin(s.getClass(), Searcher.class);
+			pluginService().getPlugin(c, Searcher.class);
 		return info == null ? false : info.isEnabled();
 	}
 
-	@Override
-	public void setEnabled(final Searcher s, final boolean enabled) {
-		prefService.put(s.getClass(), "enabled", enabled);
+	/** Discards cached state of searchers whose plugin metadata changed. */
+	private void invalidate(final PluginsListEvent evt) {
+		for (final PluginInfo<?> info : evt.getItems()) {
+			enabledFlags.remove(info.getClassName());
+			if (Searcher.class.isAssignableFrom(info.getPluginType())) {
+				searchers = null;
+			}
+		}
+	}
+
+	private List<Searcher> searchers() {
+		List<Searcher> result = searchers;
+		if (result == null) {
+			synchronized (this) {
+				result = searchers;
+				if (result == null) {
+					result = Collections.unmodifiableList(//
+						pluginService().createInstancesOfType(Searcher.class));
+					searchers = result;
+				}
+			}
+		}
+		return result;
+	}
+
+	/** Creates one task per searcher to be invoked for the given query. */
+	/** Gets the search task of each applicable searcher, in order. */
+	private Map<Searcher, Callable<SearchEvent>> tasks(final String query,
+		final SearchOptions options)
+	{
+		final List<Searcher> candidates = searchers().stream() //
+			.filter(options.getFilter()) //
+			.filter(this::enabled) //
+			.collect(Collectors.toList());
+
+		// Check for a searcher that wants exclusive rights.
+		final List<Searcher> chosen = candidates.stream() //
+			.filter(searcher -> searcher.exclusive(query)) //
+			.findFirst().map(Collections::singletonList).orElse(candidates);
+		final boolean exclusive = chosen != candidates;
+
+		// NB: Parse the query once, for all searchers. An exclusive searcher
+		// interprets the text itself.
+		final SearchQuery parsed = exclusive ? //
+			SearchQuery.literal(query) : SearchQuery.parse(query);
+
+		final long scheduled = System.nanoTime();
+		final Map<Searcher, Callable<SearchEvent>> tasks = new LinkedHashMap<>();
+		for (final Searcher searcher : chosen) {
+			tasks.put(searcher, () -> search(searcher, parsed, options.isFuzzy(),
+				exclusive, scheduled));
+		}
+		return tasks;
+	}
+
+	/**
+	 * Runs the given search on the {@link ThreadService}, or on a virtual
+	 * thread if the searcher blocks and virtual threads are enabled.
+	 */
+	private Future<SearchEvent> run(final Searcher searcher,
+		final Callable<SearchEvent> task)
+	{
+		return searcher.blocking() && VirtualThreads.isEnabled() ? //
+			VirtualThreads.run(task) : threadService.run(task);
+	}
+
+	/** Gets whether the given searcher neither blocks nor leaves memory. */
+	private boolean isCpuBound(final Searcher searcher) {
+		return !searcher.blocking() && SearcherCost.of(pluginService().getPlugin(
+			searcher.getClass(), Searcher.class)) == SearcherCost.MEMORY;
+	}
+
+	/** Invokes the given searcher, or returns null if it does not apply. */
+	private SearchEvent search(final Searcher searcher, final SearchQuery query,
+		final boolean fuzzy, final boolean exclusive, final long scheduled)
+	{
+		if (!searcher.supports(query.text()) || !query.admits(searcher)) {
+			return null;
+		}
+		final SearcherStats stats = statsService == null ? null : //
+			statsService.stats(searcher);
+		final long start = System.nanoTime();
+		List<SearchResult> results;
+		try {
+			results = query.search(searcher, fuzzy);
+			if (stats != null) {
+				stats.completed(start - scheduled, System.nanoTime() - start,
+					results == null ? 0 : results.size());
+			}
+		}
+		catch (final Throwable t) {
+			// NB: Be defensive about errors.
+			if (stats != null) {
+				stats.errored(start - scheduled, System.nanoTime() - start);
+			}
+			results = Collections.singletonList(new ErrorSearchResult(t));
+		}
+		if (results == null) results = Collections.emptyList();
+		return new SearchEvent(searcher, results, exclusive);
+	}
+
+	/**
+	 * Waits for the given searches, omitting those which do not finish in time.
+	 *
+	 * @param futures The pending searches.
+	 * @param start Time in nanoseconds when the searches were launched.
+	 * @param timeout Maximum time in milliseconds to wait, or 0 for no limit.
+	 */
+	private List<SearchEvent> collect(final List<Future<SearchEvent>> futures,
+		final long start, final long timeout)
+	{
+		final long timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+		final List<SearchEvent> events = new ArrayList<>();
+		for (final Future<SearchEvent> future : futures) {
+			try {
+				final SearchEvent event = timeout <= 0 ? future.get() : //
+					future.get(start + timeoutNanos - System.nanoTime(),
+						TimeUnit.NANOSECONDS);
+				if (event != null) events.add(event);
+			}
+			catch (final TimeoutException exc) {
+				future.cancel(true);
+			}
+			catch (final ExecutionException exc) {
+				log.error(exc);
+			}
+			catch (final InterruptedException exc) {
+				futures.forEach(f -> f.cancel(true));
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return events;
 	}
 }
@@ -0,0 +1,78 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.regex.PatternSyntaxException;
+
+import org.scijava.util.DebugUtils;
+
+/**
+ * Search result reporting an error thrown by a {@link Searcher}.
+ *
+ * @author Curtis Rueden
+ */
+class ErrorSearchResult implements SearchResult {
+
+	private final Map<String, String> props;
+
+	public ErrorSearchResult(final Throwable t) {
+		props = Collections.singletonMap(null, errorMessage(t));
+	}
+
+	@Override
+	public String name() {
+		return "<error>";
+	}
+
+	@Override
+	public String iconPath() {
+		return null;
+	}
+
+	@Override
+	public Map<String, String> properties() {
+		return props;
+	}
+
+	// -- Helper methods --
+
+	private static String errorMessage(final Throwable t) {
+		if (t instanceof PatternSyntaxException) {
+			return pre(t.getMessage());
+		}
+		return pre(DebugUtils.getStackTrace(t));
+	}
+
+	private static String pre(final String s) {
+		return "<pre style=\"font-size: 0.9em\">" + s + "</pre>";
+	}
+}
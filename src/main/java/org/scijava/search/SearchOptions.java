@@ -0,0 +1,84 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.function.Predicate;
+
+/**
+ * Options for synchronous searches via {@link SearchService#searchNow}.
+ *
+ * @author Curtis Rueden
+ */
+public class SearchOptions {
+
+	private boolean fuzzy;
+	private long timeout;
+	private Predicate<Searcher> filter = searcher -> true;
+
+	/** Gets whether to perform "fuzzy" matching of the query. */
+	public boolean isFuzzy() {
+		return fuzzy;
+	}
+
+	/** Sets whether to perform "fuzzy" matching of the query. */
+	public SearchOptions fuzzy(final boolean fuzzy) {
+		this.fuzzy = fuzzy;
+		return this;
+	}
+
+	/** Gets the maximum time in milliseconds to wait for results. */
+	public long getTimeout() {
+		return timeout;
+	}
+
+	/**
+	 * Sets the maximum time in milliseconds to wait for results. Searchers which
+	 * have not finished in time are omitted from the results. A value of 0 (the
+	 * default) means to wait indefinitely.
+	 */
+	public SearchOptions timeout(final long timeout) {
+		this.timeout = timeout;
+		return this;
+	}
+
+	/** Gets the filter deciding which searchers to use. */
+	public Predicate<Searcher> getFilter() {
+		return filter;
+	}
+
+	/**
+	 * Sets the filter deciding which searchers to use. Searchers which are
+	 * disabled (see {@link SearchService#enabled}) are never used.
+	 */
+	public SearchOptions filter(final Predicate<Searcher> filter) {
+		this.filter = filter == null ? searcher -> true : filter;
+		return this;
+	}
+}
@@ -0,0 +1,290 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A search query, parsed into clauses.
+ * <p>
+ * The syntax is:
+ * </p>
+ * <ul>
+ * <li>{@code gauss blur} &ndash; plain terms.</li>
+ * <li>{@code "gaussian blur"} &ndash; a phrase.</li>
+ * <li>{@code menu:Process}, {@code menu:"Process>Filters"} &ndash; a field
+ * qualifier; see {@link #FIELDS}.</li>
+ * <li>{@code -median}, {@code -menu:Plugins} &ndash; a negation.</li>
+ * <li>{@code cat:commands}, {@code -cat:web} &ndash; a category filter,
+ * matching the start of a {@link Searcher#title()}.</li>
+ * </ul>
+ * <p>
+ * A word of the form {@code name:value} whose name is not a known field, such
+ * as a URL, is a plain term. A query consisting only of plain terms is
+ * {@link #isPlain() plain}: searchers receive its original text unchanged.
+ * </p>
+ * <p>
+ * A query is parsed once, then {@link #search planned} for each searcher: a
+ * searcher is skipped unless its category is admitted and it supports every
+ * field the query requires, in which case it evaluates those fields itself.
+ * Negated plain terms are applied to the names of the results afterwards.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public final class SearchQuery {
+
+	/** Field restricting the searchers to those of a category. */
+	public static final String CATEGORY = "cat";
+
+	/** Fields which the query syntax recognizes. */
+	public static final Set<String> FIELDS = Collections.unmodifiableSet(
+		new HashSet<>(Arrays.asList(CATEGORY, "menu", "class", "lang", "in",
+			"out")));
+
+	private final String text;
+	private final List<Clause> clauses;
+	private final String terms;
+	private final boolean plain;
+
+	private SearchQuery(final String text, final List<Clause> clauses) {
+		this.text = text;
+		this.clauses = Collections.unmodifiableList(clauses);
+		terms = clauses.stream() //
+			.filter(c -> c.field == null && !c.negated) //
+			.map(c -> c.value) //
+			.collect(Collectors.joining(" "));
+		plain = clauses.stream().allMatch(c -> c.field == null && !c.negated &&
+			!c.phrase);
+	}
+
+	/** Parses the given query text. */
+	public static SearchQuery parse(final String text) {
+		final List<Clause> clauses = new ArrayList<>();
+		int i = 0;
+		final int n = text.length();
+		while (i < n) {
+			if (Character.isWhitespace(text.charAt(i))) {
+				i++;
+				continue;
+			}
+			final int start = i;
+
+			// Parse the negation, if any.
+			boolean negated = false;
+			if (text.charAt(i) == '-' && i + 1 < n && //
+				!Character.isWhitespace(text.charAt(i + 1)))
+			{
+				negated = true;
+				i++;
+			}
+
+			// Parse the field, if any.
+			String field = null;
+			int colon = i;
+			while (colon < n && Character.isLetter(text.charAt(colon))) colon++;
+			if (colon < n && text.charAt(colon) == ':' && //
+				FIELDS.contains(text.substring(i, colon).toLowerCase()))
+			{
+				field = text.substring(i, colon).toLowerCase();
+				i = colon + 1;
+			}
+
+			// Parse the value: a phrase, or a word.
+			final String value;
+			final boolean phrase = i < n && text.charAt(i) == '"';
+			if (phrase) {
+				final int close = text.indexOf('"', i + 1);
+				final int end = close < 0 ? n : close;
+				value = text.substring(i + 1, end);
+				i = close < 0 ? n : close + 1;
+			}
+			else {
+				int end = i;
+				while (end < n && !Character.isWhitespace(text.charAt(end))) end++;
+				value = text.substring(i, end);
+				i = end;
+			}
+
+			if (value.isEmpty() && !phrase) {
+				// NB: A dangling qualifier such as "menu:" is a plain term, so far.
+				clauses.add(new Clause(null, text.substring(start, i), false, false));
+			}
+			else if (!value.isEmpty()) {
+				clauses.add(new Clause(field, value, negated, phrase));
+			}
+		}
+		return new SearchQuery(text, clauses);
+	}
+
+	/**
+	 * Gets a plain query of the given text as is, for searchers which interpret
+	 * the text themselves; see {@link Searcher#exclusive}.
+	 */
+	public static SearchQuery literal(final String text) {
+		return new SearchQuery(text, Collections.singletonList(new Clause(null,
+			text, false, false)));
+	}
+
+	/** Gets the original text of the query. */
+	public String text() {
+		return text;
+	}
+
+	/** Gets the clauses of the query, in order. */
+	public List<Clause> clauses() {
+		return clauses;
+	}
+
+	/** Gets the clauses of the given field. */
+	public List<Clause> clauses(final String field) {
+		return clauses.stream().filter(c -> field.equals(c.field)) //
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Gets the plain terms and phrases of the query which results must match,
+	 * separated by spaces.
+	 */
+	public String terms() {
+		return terms;
+	}
+
+	/** Gets whether the query consists of plain terms only. */
+	public boolean isPlain() {
+		return plain;
+	}
+
+	/**
+	 * Gets whether the given searcher should be invoked for this query: its
+	 * category must be admitted, and it must support every field that results
+	 * are required to match.
+	 */
+	public boolean admits(final Searcher searcher) {
+		final String title = searcher.title().toLowerCase();
+		boolean included = true;
+		for (final Clause c : clauses(CATEGORY)) {
+			final boolean matches = title.startsWith(c.value.toLowerCase());
+			if (c.negated && matches) return false;
+			if (!c.negated) included = included && matches;
+		}
+		if (!included) return false;
+		final Set<String> supported = searcher.supportedFields();
+		return clauses.stream().allMatch(c -> c.field == null || c.negated ||
+			c.field.equals(CATEGORY) || supported.contains(c.field));
+	}
+
+	/**
+	 * Searches for this query with the given searcher: pushes the query down
+	 * to the searcher, then discards the results whose names contain a negated
+	 * plain term. Callers must check that the query {@link #admits} the
+	 * searcher first.
+	 */
+	public List<SearchResult> search(final Searcher searcher,
+		final boolean fuzzy)
+	{
+		if (plain) return searcher.search(text, fuzzy);
+		final List<SearchResult> results = searcher.search(this, fuzzy);
+		final List<Clause> negations = clauses.stream() //
+			.filter(c -> c.field == null && c.negated) //
+			.collect(Collectors.toList());
+		if (results == null || negations.isEmpty()) return results;
+		return results.stream() //
+			.filter(r -> negations.stream().allMatch(c -> c.accepts(r.name()))) //
+			.collect(Collectors.toList());
+	}
+
+	@Override
+	public String toString() {
+		return text;
+	}
+
+	// -- Helper classes --
+
+	/** A term, phrase or field qualifier of a query, possibly negated. */
+	public static final class Clause {
+
+		private final String field;
+		private final String value;
+		private final boolean negated;
+		private final boolean phrase;
+
+		private Clause(final String field, final String value,
+			final boolean negated, final boolean phrase)
+		{
+			this.field = field;
+			this.value = value;
+			this.negated = negated;
+			this.phrase = phrase;
+		}
+
+		/** Gets the field, or null for a plain term or phrase. */
+		public String field() {
+			return field;
+		}
+
+		/** Gets the value, without quotes. */
+		public String value() {
+			return value;
+		}
+
+		/** Gets whether results must <em>not</em> match the clause. */
+		public boolean isNegated() {
+			return negated;
+		}
+
+		/** Gets whether the value was quoted. */
+		public boolean isPhrase() {
+			return phrase;
+		}
+
+		/**
+		 * Gets whether the given text contains the value, ignoring case, or not
+		 * if the clause is negated.
+		 */
+		public boolean accepts(final String candidate) {
+			final boolean matches = candidate != null && //
+				candidate.toLowerCase().contains(value.toLowerCase());
+			return matches != negated;
+		}
+
+		@Override
+		public String toString() {
+			final String v = phrase ? "\"" + value + "\"" : value;
+			return (negated ? "-" : "") + (field == null ? "" : field + ":") + v;
+		}
+	}
+}
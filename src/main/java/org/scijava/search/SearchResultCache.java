@@ -0,0 +1,187 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Least-recently-used cache of one {@link Searcher}'s results, by query.
+ * <p>
+ * Besides serving repeated queries (e.g. when the user backspaces), the cache
+ * finds earlier results which a refined query can be computed from; see
+ * {@link Searcher#refines}.
+ * </p>
+ * <p>
+ * Results expire after a short time, since most searchers' data can change
+ * without notice: classes get loaded, commands get run (affecting their
+ * frecency), web pages change. So the cache serves a burst of typing, but
+ * never outdated results for long.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+class SearchResultCache {
+
+	/** Default maximum number of queries to remember. */
+	private static final int DEFAULT_CAPACITY = 32;
+
+	/** Default time for which results are reused, in milliseconds. */
+	private static final long DEFAULT_TTL = 5000;
+
+	private final Map<Key, Cached> entries;
+	private final long ttl;
+
+	public SearchResultCache() {
+		this(DEFAULT_CAPACITY, DEFAULT_TTL);
+	}
+
+	/**
+	 * @param capacity Maximum number of queries to remember.
+	 * @param ttl Time for which results are reused, in milliseconds.
+	 */
+	public SearchResultCache(final int capacity, final long ttl) {
+		this.ttl = TimeUnit.MILLISECONDS.toNanos(ttl);
+		entries = new LinkedHashMap<Key, Cached>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<Key, Cached> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Searches for the given query, reusing cached results where possible. Only
+	 * {@link SearchQuery#isPlain() plain} queries are ever refined.
+	 *
+	 * @param searcher The searcher whose results are cached here.
+	 * @param query The query to search for.
+	 * @param fuzzy Whether to perform "fuzzy" matching.
+	 * @return The results of the search.
+	 */
+	public List<SearchResult> search(final Searcher searcher,
+		final SearchQuery query, final boolean fuzzy)
+	{
+		final String text = query.text();
+		final Key key = new Key(text, fuzzy);
+		final Cached previous;
+		synchronized (this) {
+			expire();
+			final Cached cached = entries.get(key);
+			if (cached != null) return cached.results;
+			previous = query.isPlain() ? refinable(searcher, key) : null;
+		}
+		// NB: Do not hold the lock while searching.
+		// Date the results from the start of the search; refined results are as
+		// old as the results they were computed from.
+		final long time = previous == null ? System.nanoTime() : previous.time;
+		final List<SearchResult> results = previous == null ? //
+			query.search(searcher, fuzzy) : //
+			searcher.refine(previous.results, text, fuzzy);
+		if (results != null) {
+			synchronized (this) {
+				entries.put(key, new Cached(results, time));
+			}
+		}
+		return results;
+	}
+
+	/** Discards all cached results. */
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	// -- Helper methods --
+
+	/** Discards the results which are too old to reuse. */
+	private void expire() {
+		final long now = System.nanoTime();
+		final Iterator<Cached> iter = entries.values().iterator();
+		while (iter.hasNext()) {
+			if (now - iter.next().time >= ttl) iter.remove();
+		}
+	}
+
+	/** Gets the narrowest cached results which the query refines, if any. */
+	private Cached refinable(final Searcher searcher,
+		final Key key)
+	{
+		Key best = null;
+		for (final Key k : entries.keySet()) {
+			if (k.fuzzy != key.fuzzy || !SearchQuery.parse(k.text).isPlain() || //
+				!searcher.refines(k.text, key.text)) continue;
+			if (best == null || k.text.length() > best.text.length()) best = k;
+		}
+		// NB: Use get rather than iterating values, to refresh the LRU order.
+		return best == null ? null : entries.get(best);
+	}
+
+	// -- Helper classes --
+
+	private static class Cached {
+
+		private final List<SearchResult> results;
+		private final long time;
+
+		public Cached(final List<SearchResult> results, final long time) {
+			this.results = results;
+			this.time = time;
+		}
+	}
+
+	private static class Key {
+
+		private final String text;
+		private final boolean fuzzy;
+
+		public Key(final String text, final boolean fuzzy) {
+			this.text = text;
+			this.fuzzy = fuzzy;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (!(o instanceof Key)) return false;
+			final Key k = (Key) o;
+			return fuzzy == k.fuzzy && text.equals(k.text);
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * text.hashCode() + (fuzzy ? 1 : 0);
+		}
+	}
+}
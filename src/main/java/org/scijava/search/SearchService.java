@@ -31,6 +31,7 @@ package org.scijava.search;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -60,6 +61,47 @@ public interface SearchService extends SingletonService<SearchActionFactory>,
 		return new DefaultSearchOperation(context(), callbacks);
 	}
 
+	/**
+	 * Synchronously searches for the given query with default options.
+	 *
+	 * @see #searchNow(String, SearchOptions)
+	 */
+	default List<SearchEvent> searchNow(final String query) {
+		return searchNow(query, new SearchOptions());
+	}
+
+	/**
+	 * Synchronously searches for the given query, invoking all enabled searchers
+	 * in parallel and waiting for their results.
+	 * <p>
+	 * Unlike {@link #search(SearchListener...)}, this method does not wait for
+	 * the user to stop typing, making it suitable for scripts and headless use.
+	 * </p>
+	 *
+	 * @param query The query to be searched.
+	 * @param options Options controlling the search.
+	 * @return One event per searcher which supports the query, in order of
+	 *         searcher priority.
+	 */
+	List<SearchEvent> searchNow(String query, SearchOptions options);
+
+	/**
+	 * Synchronously searches for many queries at once, invoking all enabled
+	 * searchers for all queries in parallel.
+	 * <p>
+	 * NB: The same searcher instances are shared by all queries, and may
+	 * therefore be invoked concurrently.
+	 * </p>
+	 *
+	 * @param queries The queries to be searched.
+	 * @param options Options controlling the searches.
+	 * @return The results of each query, as returned by
+	 *         {@link #searchNow(String, SearchOptions)}, in order of the
+	 *         queries.
+	 */
+	Map<String, List<SearchEvent>> searchNow(List<String> queries,
+		SearchOptions options);
+
 	/**
 	 * Gets the suite of available actions for the given search result.
 	 *
@@ -29,7 +29,9 @@
 
 package org.scijava.search;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
 import org.scijava.plugin.SciJavaPlugin;
 
@@ -61,6 +63,71 @@ public interface Searcher extends SciJavaPlugin {
 		return false;
 	}
 
+	/**
+	 * Gets whether this plugin spends most of its time blocked, e.g. waiting on
+	 * remote servers, rather than computing. Such searchers may be run on
+	 * virtual threads; see {@link VirtualThreads}.
+	 */
+	default boolean blocking() {
+		return false;
+	}
+
 	/** Searches for the given text. */
 	List<SearchResult> search(String text, boolean fuzzy);
+
+	/**
+	 * Gets the {@link SearchQuery#FIELDS fields} this plugin can evaluate. A
+	 * query requiring results to match any other field skips this plugin.
+	 */
+	default Set<String> supportedFields() {
+		return Collections.emptySet();
+	}
+
+	/**
+	 * Searches for the given parsed query, which is not
+	 * {@link SearchQuery#isPlain() plain}. Only called when the query
+	 * {@link SearchQuery#admits admits} this plugin, i.e. requires no fields
+	 * beyond its {@link #supportedFields()}; the plugin should filter its
+	 * results by those fields, and may ignore negated clauses of any others.
+	 * <p>
+	 * By default, searches for the query's {@link SearchQuery#terms() terms}.
+	 * </p>
+	 */
+	default List<SearchResult> search(final SearchQuery query,
+		final boolean fuzzy)
+	{
+		return search(query.terms(), fuzzy);
+	}
+
+	/**
+	 * Gets whether the results for {@code text} are guaranteed to be a subset
+	 * of the results for {@code previous}, such that they can be computed via
+	 * {@link #refine} rather than by searching everything again.
+	 * <p>
+	 * This is typically the case when the user keeps typing, e.g. from "gaus" to
+	 * "gauss", and the searcher filters its candidates monotonically.
+	 * </p>
+	 */
+	default boolean refines(@SuppressWarnings("unused") final String previous,
+		@SuppressWarnings("unused") final String text)
+	{
+		return false;
+	}
+
+	/**
+	 * Searches for the given text among the results of a previous search. Only
+	 * called when {@link #refines} holds for the previous query; the results
+	 * must be the same as those of {@link #search(String, boolean)}.
+	 *
+	 * @param previous The results of the previous query.
+	 * @param text The text to search for.
+	 * @param fuzzy Whether to perform "fuzzy" matching.
+	 * @return The results of the search.
+	 */
+	default List<SearchResult> refine(
+		@SuppressWarnings("unused") final List<SearchResult> previous,
+		final String text, final boolean fuzzy)
+	{
+		return search(text, fuzzy);
+	}
 }
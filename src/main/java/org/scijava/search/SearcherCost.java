@@ -0,0 +1,85 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import org.scijava.plugin.PluginInfo;
+
+/**
+ * How expensive a {@link Searcher} is to invoke, which determines when and
+ * where {@link DefaultSearchOperation} schedules it.
+ * <p>
+ * Searchers declare their cost class via the {@value #ATTRIBUTE} plugin
+ * attribute, e.g.:
+ * </p>
+ *
+ * <pre>
+ * &#64;Plugin(type = Searcher.class,
+ * 	attrs = &#64;Attr(name = SearcherCost.ATTRIBUTE, value = "network"))
+ * </pre>
+ * <p>
+ * Searchers without the attribute are assumed to be {@link #MEMORY}-bound.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public enum SearcherCost {
+
+	/** Searches data structures already in memory. */
+	MEMORY,
+
+	/** Searches the local file system. */
+	DISK,
+
+	/** Queries remote servers. */
+	NETWORK;
+
+	/** Name of the plugin attribute declaring a searcher's cost class. */
+	public static final String ATTRIBUTE = "cost";
+
+	/**
+	 * Gets whether searchers of this cost class are too expensive to run on
+	 * every pause in typing, and should wait for the user to settle instead.
+	 */
+	public boolean isExpensive() {
+		return this == NETWORK;
+	}
+
+	/** Gets the cost class declared by the given searcher plugin. */
+	public static SearcherCost of(final PluginInfo<?> info) {
+		final String cost = info == null ? null : info.get(ATTRIBUTE);
+		if (cost == null) return MEMORY;
+		try {
+			return valueOf(cost.trim().toUpperCase());
+		}
+		catch (final IllegalArgumentException exc) {
+			return MEMORY;
+		}
+	}
+}
@@ -29,12 +29,21 @@
 
 package org.scijava.search;
 
+import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 import org.scijava.log.Logger;
-import org.scijava.util.Manifest;
-import org.scijava.util.POM;
+import org.scijava.util.Types;
 
 /**
  * Static utility class for finding source URL of a given class.
@@ -43,6 +52,9 @@ import org.scijava.util.POM;
  */
 public final class SourceFinder {
 
+	/** Name of the cache subdirectory into which source files are extracted. */
+	private static final String SOURCE_DIR = "sources";
+
 	/**
 	 * Discerns a URL where the source for a given class can be browsed.
 	 * 
@@ -55,15 +67,17 @@ public final class SourceFinder {
 		throws SourceNotFoundException
 	{
 		try {
-			final POM pom = POM.getPOM(c);
-			if (pom == null) {
+			final ArtifactMetadata metadata = ArtifactMetadata.of(c);
+			if (!metadata.hasPOM()) {
 				log.debug("No Maven POM found for class: " + c.getName());
 				throw new SourceNotFoundException(c, null);
 			}
 
-			final String scmURL = pom.getSCMURL();
+			final String scmURL = metadata.scmURL();
 			if (scmURL == null) {
-				if (log.isDebug()) log.debug("No <scm><url> for " + coord(pom));
+				if (log.isDebug()) {
+					log.debug("No <scm><url> for " + metadata.coordinate());
+				}
 				throw new SourceNotFoundException(c, null);
 			}
 			if (!scmURL.matches("^(git|http|https)://github.com/[^/]+/[^/]+/?$")) {
@@ -73,15 +87,14 @@ public final class SourceFinder {
 
 			// Try to extract a tag or commit hash.
 			final String tag;
-			final String scmTag = pom.getSCMTag();
+			final String scmTag = metadata.scmTag();
 			if (scmTag == null || scmTag.equals("HEAD")) {
 				if (log.isDebug()) {
 					log.debug(scmTag == null ? //
 						"No SCM tag available; using commit hash." : //
 						"Weird SCM tag '" + scmTag + "'; using commit hash.");
 				}
-				final Manifest m = Manifest.getManifest(c);
-				tag = m == null ? null : m.getImplementationBuild();
+				tag = metadata.implementationBuild();
 				if (tag == null) log.debug("No commit hash found.");
 			}
 			else tag = scmTag;
@@ -96,7 +109,7 @@ public final class SourceFinder {
 			if (!scmURL.endsWith("/")) url.append("/");
 			url.append("blob/");
 			url.append(tag);
-			final String sourceDir = pom.cdata("//build/sourceDirectory");
+			final String sourceDir = metadata.sourceDirectory();
 			url.append(sourceDir == null ? "/src/main/java/" : sourceDir.replace("${project.basedir}", "") + "/");
 			url.append(c.getName().replaceAll("\\.", "/"));
 			url.append(".java");
@@ -108,13 +121,107 @@ public final class SourceFinder {
 		}
 	}
 
-	// -- Helper methods --
+	/**
+	 * Looks for the source of a given class in a local {@code -sources.jar}
+	 * artifact: either next to the class's own JAR file (e.g. in the
+	 * application's {@code jars} folder), or in the local Maven repository.
+	 * This works even without network access.
+	 * <p>
+	 * The source file is extracted to the user's cache directory, so that it
+	 * can be opened like any other file.
+	 * </p>
+	 *
+	 * @param c The class for which a source file is desired.
+	 * @param log The logger to use for any debug messages.
+	 * @return URL of the extracted source file, or null if no local source is
+	 *         available.
+	 */
+	public static URL localSourceLocation(final Class<?> c, final Logger log) {
+		// NB: The source of a nested class is that of its top-level class.
+		final String entry = c.getName().replaceFirst("\\$.*", "")
+			.replace('.', '/') + ".java";
+		for (final File jar : sourcesJars(c)) {
+			try {
+				final byte[] source = ZipIndex.of(jar).read(entry);
+				if (source == null) continue;
+				final String artifact = jar.getName().replaceFirst("\\.jar$", "");
+				final File file = new File(new File(cacheDir(SOURCE_DIR), artifact),
+					entry);
+				if (!file.getParentFile().isDirectory() && //
+					!file.getParentFile().mkdirs())
+				{
+					throw new IOException("Cannot create directory for " + file);
+				}
+				// NB: Skip the write if an earlier request extracted it already.
+				if (!file.isFile() || file.length() != source.length) {
+					Files.write(file.toPath(), source);
+				}
+				return file.toURI().toURL();
+			}
+			catch (final IOException | RuntimeException exc) {
+				if (log.isDebug()) log.debug("Cannot read sources from " + jar, exc);
+			}
+		}
+		return null;
+	}
+
+	// -- Package-private methods --
 
-	private static String coord(final POM pom) {
-		final String g = pom.getGroupId();
-		final String a = pom.getArtifactId();
-		final String v = pom.getVersion();
-		return g + ":" + a + ":" + v;
+	/**
+	 * Gets the given subdirectory of the user's own cache directory, creating it
+	 * if needed. Where supported, new directories are accessible only to their
+	 * owner, so that other users cannot plant files there.
+	 */
+	static File cacheDir(final String name) throws IOException {
+		final Path dir = Paths.get(System.getProperty("user.home"), ".cache",
+			"scijava-search", name);
+		if (!Files.isDirectory(dir)) {
+			if (FileSystems.getDefault().supportedFileAttributeViews().contains(
+				"posix"))
+			{
+				Files.createDirectories(dir, PosixFilePermissions.asFileAttribute(
+					PosixFilePermissions.fromString("rwx------")));
+			}
+			else Files.createDirectories(dir);
+		}
+		return dir.toFile();
 	}
 
+	// -- Helper methods --
+
+	/** Gets the existing {@code -sources.jar} candidates for the given class. */
+	private static Set<File> sourcesJars(final Class<?> c) {
+		final Set<File> jars = new LinkedHashSet<>();
+
+		// Look next to the class's JAR file.
+		final URL location = Types.location(c);
+		if (location != null && "file".equals(location.getProtocol())) {
+			try {
+				final File jar = new File(location.toURI());
+				final String name = jar.getName();
+				if (name.endsWith(".jar")) {
+					jars.add(new File(jar.getParentFile(), //
+						name.substring(0, name.length() - 4) + "-sources.jar"));
+				}
+			}
+			catch (final URISyntaxException | IllegalArgumentException exc) {
+				// NB: Not a local file; skip.
+			}
+		}
+
+		// Look in the local Maven repository.
+		final ArtifactMetadata metadata = ArtifactMetadata.of(c);
+		if (metadata.hasPOM() && metadata.groupId() != null &&
+			metadata.artifactId() != null && metadata.version() != null)
+		{
+			final String repo = System.getProperty("maven.repo.local", //
+				System.getProperty("user.home") + "/.m2/repository");
+			final String a = metadata.artifactId(), v = metadata.version();
+			jars.add(new File(repo, metadata.groupId().replace('.', '/') + "/" + a +
+				"/" + v + "/" + a + "-" + v + "-sources.jar"));
+		}
+
+		jars.removeIf(jar -> !jar.isFile());
+		return jars;
+	}
 }
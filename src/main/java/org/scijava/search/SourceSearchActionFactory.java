@@ -56,22 +56,35 @@ public abstract class SourceSearchActionFactory implements SearchActionFactory {
 
 	protected abstract Class<?> classFromSearchResult(final SearchResult result);
 
+	/**
+	 * Discerns a URL where the source of the given result can be browsed.
+	 * Subclasses may override this to reuse a previously discovered location.
+	 */
+	protected URL sourceFromSearchResult(final SearchResult result)
+		throws SourceNotFoundException
+	{
+		final Class<?> c = classFromSearchResult(result);
+		// NB: Prefer a local source file, which works offline.
+		final URL local = SourceFinder.localSourceLocation(c, log);
+		return local != null ? local : SourceFinder.sourceLocation(c, log);
+	}
+
 	@Override
 	public SearchAction create(final SearchResult result) {
-		return new DefaultSearchAction("Source", //
-			() -> source(classFromSearchResult(result)));
+		return new DefaultSearchAction("Source", () -> source(result));
 	}
 
-	private void source(final Class<?> c) {
+	private void source(final SearchResult result) {
 		URL sourceLocation = null;
 		try {
-			sourceLocation = SourceFinder.sourceLocation(c, log);
+			sourceLocation = sourceFromSearchResult(result);
 		}
 		catch (final SourceNotFoundException exc) {
 			log.error(exc);
 		}
 		if (sourceLocation == null) {
-			uiService.showDialog("Source location unknown for " + c.getName());
+			uiService.showDialog("Source location unknown for " + //
+				classFromSearchResult(result).getName());
 			return;
 		}
 		try {
@@ -0,0 +1,170 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Utility class for scanning an in-memory corpus against a ranked list of
+ * match criteria, as {@link Searcher}s commonly do: first the items matching
+ * the best criterion, then those matching the next best, and so on.
+ * <p>
+ * Large corpora are partitioned across the {@link ForkJoinPool#commonPool()
+ * common fork-join pool}. Each item is tested only until its first matching
+ * tier, and the results are merged by tier and then by original position, so
+ * the outcome is identical to a sequential scan. Corpora smaller than the
+ * threshold&mdash;configurable via the {@value #THRESHOLD_PROPERTY} system
+ * property, with 0 disabling parallelism altogether&mdash;are scanned on the
+ * calling thread, so they do not pay any fork overhead.
+ * </p>
+ * <p>
+ * Optionally, items within a tier can be boosted above their neighbors, e.g.
+ * according to how often the user chooses them.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public final class TieredScan {
+
+	/** System property overriding the size threshold for parallel scans. */
+	public static final String THRESHOLD_PROPERTY =
+		"scijava.search.parallelThreshold";
+
+	/** Default minimum corpus size for a parallel scan. */
+	public static final int DEFAULT_THRESHOLD = 4096;
+
+	private TieredScan() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Gets the items matching any of the given tiers, ordered by best matching
+	 * tier, then by position in the corpus. Duplicate items are reported once.
+	 *
+	 * @param items The corpus to scan.
+	 * @param tiers The match criteria, from best to worst. They must be safe to
+	 *          evaluate concurrently.
+	 * @return The matching items.
+	 */
+	public static <T> List<T> scan(final List<T> items,
+		final List<? extends Predicate<? super T>> tiers)
+	{
+		return scan(items, tiers, null);
+	}
+
+	/**
+	 * Gets the items matching any of the given tiers, as {@link #scan(List,
+	 * List)} does, but ordering items within each tier by descending boost.
+	 * Items with equal boosts keep their positions relative to one another.
+	 *
+	 * @param items The corpus to scan.
+	 * @param tiers The match criteria, from best to worst. They must be safe to
+	 *          evaluate concurrently.
+	 * @param boost Function computing the boost of a matching item, or null for
+	 *          none. It must be safe to evaluate concurrently.
+	 * @return The matching items.
+	 */
+	public static <T> List<T> scan(final List<T> items,
+		final List<? extends Predicate<? super T>> tiers,
+		final ToDoubleFunction<? super T> boost)
+	{
+		final int threshold = Integer.getInteger(THRESHOLD_PROPERTY,
+			DEFAULT_THRESHOLD);
+		final boolean parallel = threshold > 0 && items.size() >= threshold &&
+			ForkJoinPool.getCommonPoolParallelism() > 1;
+		return scan(items, tiers, boost, parallel);
+	}
+
+	/**
+	 * Gets the items matching any of the given tiers, as {@link #scan(List,
+	 * List)} does, but choosing explicitly whether to scan in parallel.
+	 */
+	public static <T> List<T> scan(final List<T> items,
+		final List<? extends Predicate<? super T>> tiers, final boolean parallel)
+	{
+		return scan(items, tiers, null, parallel);
+	}
+
+	// -- Helper methods --
+
+	private static <T> List<T> scan(final List<T> items,
+		final List<? extends Predicate<? super T>> tiers,
+		final ToDoubleFunction<? super T> boost, final boolean parallel)
+	{
+		// Determine the best matching tier, and boost, of each item.
+		final int size = items.size();
+		final int[] best = new int[size];
+		final double[] boosts = boost == null ? null : new double[size];
+		final IntStream indices = IntStream.range(0, size);
+		(parallel ? indices.parallel() : indices).forEach(i -> {
+			final T item = items.get(i);
+			best[i] = tier(item, tiers);
+			if (boosts != null && best[i] < tiers.size()) {
+				boosts[i] = boost.applyAsDouble(item);
+			}
+		});
+
+		// Merge deterministically: by tier, then by position.
+		final int[] counts = new int[tiers.size() + 1];
+		for (final int t : best) counts[t]++;
+		final List<List<Integer>> buckets = new ArrayList<>(tiers.size());
+		for (int t = 0; t < tiers.size(); t++) {
+			buckets.add(new ArrayList<>(counts[t]));
+		}
+		for (int i = 0; i < size; i++) {
+			if (best[i] < tiers.size()) buckets.get(best[i]).add(i);
+		}
+		final LinkedHashSet<T> matches = new LinkedHashSet<>(//
+			size - counts[tiers.size()]);
+		for (final List<Integer> bucket : buckets) {
+			// NB: List.sort is stable, so equal boosts keep the corpus order.
+			if (boosts != null) bucket.sort((a, b) -> Double.compare(boosts[b],
+				boosts[a]));
+			for (final int i : bucket) matches.add(items.get(i));
+		}
+		return new ArrayList<>(matches);
+	}
+
+	/** Gets the index of the first tier matching the item, or the tier count. */
+	private static <T> int tier(final T item,
+		final List<? extends Predicate<? super T>> tiers)
+	{
+		for (int t = 0; t < tiers.size(); t++) {
+			if (tiers.get(t).test(item)) return t;
+		}
+		return tiers.size();
+	}
+}
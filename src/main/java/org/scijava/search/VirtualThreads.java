@@ -0,0 +1,117 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Utility methods for running blocking work on virtual threads.
+ * <p>
+ * Virtual threads are cheap enough that dozens of concurrent remote lookups
+ * need not tie up any platform threads. They are only available on Java 21 and
+ * newer, so they are accessed reflectively, and only used when the
+ * {@value #PROPERTY} system property is set to {@code true}. Otherwise,
+ * callers fall back to their usual {@link org.scijava.thread.ThreadService}.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public final class VirtualThreads {
+
+	/** System property enabling the virtual-thread execution mode. */
+	public static final String PROPERTY = "scijava.search.virtualThreads";
+
+	private static ExecutorService executor;
+	private static boolean initialized;
+
+	private VirtualThreads() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/** Gets whether the running JVM supports virtual threads. */
+	public static boolean isSupported() {
+		return executor() != null;
+	}
+
+	/**
+	 * Gets whether blocking work should run on virtual threads: that is, whether
+	 * the mode is enabled via the {@value #PROPERTY} system property, and the
+	 * running JVM supports it.
+	 */
+	public static boolean isEnabled() {
+		return Boolean.getBoolean(PROPERTY) && isSupported();
+	}
+
+	/**
+	 * Runs the given task on a new virtual thread.
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are unavailable.
+	 */
+	public static Future<?> run(final Runnable task) {
+		return executorOrFail().submit(task);
+	}
+
+	/**
+	 * Runs the given task on a new virtual thread.
+	 *
+	 * @throws UnsupportedOperationException if virtual threads are unavailable.
+	 */
+	public static <T> Future<T> run(final Callable<T> task) {
+		return executorOrFail().submit(task);
+	}
+
+	// -- Helper methods --
+
+	private static ExecutorService executorOrFail() {
+		final ExecutorService result = executor();
+		if (result == null) {
+			throw new UnsupportedOperationException("Virtual threads unavailable");
+		}
+		return result;
+	}
+
+	private static synchronized ExecutorService executor() {
+		if (!initialized) {
+			initialized = true;
+			try {
+				// NB: Executors.newVirtualThreadPerTaskExecutor() is Java 21+ API.
+				executor = (ExecutorService) Executors.class.getMethod(
+					"newVirtualThreadPerTaskExecutor").invoke(null);
+			}
+			catch (final ReflectiveOperationException | RuntimeException exc) {
+				executor = null;
+			}
+		}
+		return executor;
+	}
+}
@@ -0,0 +1,387 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Index of the {@code .java} entries of a ZIP (e.g. {@code -sources.jar})
+ * file, built from its central directory.
+ * <p>
+ * Once indexed, a single entry is read by seeking straight to its data, with
+ * no need to scan or even open the rest of the archive. Indices are cached in
+ * memory, and persisted to the user's cache directory so that they are built
+ * only once per archive, not once per session. They are rebuilt whenever the
+ * archive is modified.
+ * </p>
+ * <p>
+ * ZIP64 archives, and entries too large for a byte array, are not supported;
+ * sources JARs are never that large. Such entries are left out of the index.
+ * Archives whose central directory cannot be parsed are not indexed at all.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+final class ZipIndex {
+
+	private static final int EOCD_SIGNATURE = 0x06054b50;
+	private static final int CEN_SIGNATURE = 0x02014b50;
+	private static final int LOC_SIGNATURE = 0x04034b50;
+	private static final int EOCD_SIZE = 22;
+	private static final int CEN_SIZE = 46;
+	private static final int LOC_SIZE = 30;
+
+	/** Identifies (and versions) the format of persisted indices. */
+	private static final int MAGIC = 0x5a495832; // "ZIX2"
+
+	/** Name of the cache subdirectory where indices are persisted. */
+	private static final String INDEX_DIR = "zip-index";
+
+	/** Indices loaded so far, keyed on archive path. */
+	private static final Map<String, ZipIndex> CACHE = new ConcurrentHashMap<>();
+
+	private final File file;
+	private final long lastModified;
+	private final long length;
+	private final Map<String, Entry> entries;
+
+	private ZipIndex(final File file, final long lastModified,
+		final long length, final Map<String, Entry> entries)
+	{
+		this.file = file;
+		this.lastModified = lastModified;
+		this.length = length;
+		this.entries = entries;
+	}
+
+	/** Gets the index of the given archive, building it if needed. */
+	public static ZipIndex of(final File file) throws IOException {
+		final String key = file.getAbsolutePath();
+		final long lastModified = file.lastModified();
+		final long length = file.length();
+		final ZipIndex cached = CACHE.get(key);
+		if (cached != null && cached.lastModified == lastModified &&
+			cached.length == length)
+		{
+			return cached;
+		}
+		ZipIndex index = load(file, lastModified, length);
+		if (index == null) {
+			index = new ZipIndex(file, lastModified, length, scan(file, length));
+			save(index);
+		}
+		CACHE.put(key, index);
+		return index;
+	}
+
+	/** Gets whether the archive has an entry with the given name. */
+	public boolean contains(final String name) {
+		return entries.containsKey(name);
+	}
+
+	/**
+	 * Reads the entry with the given name.
+	 *
+	 * @return The uncompressed contents of the entry, or null if no such entry.
+	 */
+	public byte[] read(final String name) throws IOException {
+		final Entry entry = entries.get(name);
+		if (entry == null) return null;
+		try (final FileChannel channel = FileChannel.open(file.toPath(),
+			StandardOpenOption.READ))
+		{
+			// The local header repeats the name, and may have its own extra field.
+			final ByteBuffer header = read(channel, entry.offset, LOC_SIZE);
+			if (header.getInt(0) != LOC_SIGNATURE) {
+				throw new IOException("Bad local header for " + name + " in " + file);
+			}
+			final long dataOffset = entry.offset + LOC_SIZE + //
+				(header.getShort(26) & 0xffff) + (header.getShort(28) & 0xffff);
+			if (dataOffset + entry.compressedSize > channel.size()) {
+				throw new IOException("Truncated entry " + name + " in " + file);
+			}
+			final ByteBuffer data = read(channel, dataOffset, //
+				(int) entry.compressedSize);
+			if (entry.method == 0) return data.array();
+			if (entry.method != 8) {
+				throw new IOException("Unsupported compression method " +
+					entry.method + " for " + name + " in " + file);
+			}
+			final Inflater inflater = new Inflater(true);
+			try {
+				inflater.setInput(data.array());
+				final byte[] bytes = new byte[(int) entry.size];
+				int n = 0;
+				while (n < bytes.length && !inflater.finished()) {
+					final int count = inflater.inflate(bytes, n, bytes.length - n);
+					if (count == 0 && inflater.needsInput()) break;
+					n += count;
+				}
+				// NB: Never pass off a partial entry as the whole.
+				if (n != bytes.length || !inflater.finished()) {
+					throw new IOException("Truncated entry " + name + " in " + file);
+				}
+				return bytes;
+			}
+			catch (final DataFormatException exc) {
+				throw new IOException("Corrupt entry " + name + " in " + file, exc);
+			}
+			finally {
+				inflater.end();
+			}
+		}
+	}
+
+	// -- Helper methods --
+
+	/** Builds the index by reading the archive's central directory. */
+	private static Map<String, Entry> scan(final File file, final long length)
+		throws IOException
+	{
+		try {
+			return scanCentralDirectory(file, length);
+		}
+		catch (final RuntimeException exc) {
+			// NB: The archive is malformed in a way the bounds checks missed.
+			throw new IOException("Cannot index ZIP file: " + file, exc);
+		}
+	}
+
+	private static Map<String, Entry> scanCentralDirectory(final File file,
+		final long length) throws IOException
+	{
+		try (final FileChannel channel = FileChannel.open(file.toPath(),
+			StandardOpenOption.READ))
+		{
+			final long size = channel.size();
+			if (size != length) {
+				throw new IOException("ZIP file changed while indexing: " + file);
+			}
+			if (size < EOCD_SIZE || size > Integer.MAX_VALUE) {
+				throw new IOException("Not a supported ZIP file: " + file);
+			}
+			final MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY,
+				0, size);
+			buf.order(ByteOrder.LITTLE_ENDIAN);
+
+			// Find the end of central directory record, which precedes a
+			// variable-length (up to 64K) archive comment.
+			int eocd = -1;
+			final int limit = Math.max(0, (int) size - EOCD_SIZE - 0xffff);
+			for (int p = (int) size - EOCD_SIZE; p >= limit; p--) {
+				if (buf.getInt(p) == EOCD_SIGNATURE) {
+					eocd = p;
+					break;
+				}
+			}
+			if (eocd < 0) throw new IOException("Not a ZIP file: " + file);
+			final int count = buf.getShort(eocd + 10) & 0xffff;
+			final long cenOffset = buf.getInt(eocd + 16) & 0xffffffffL;
+			if (count == 0xffff || cenOffset == 0xffffffffL) {
+				throw new IOException("ZIP64 is not supported: " + file);
+			}
+			if (cenOffset > eocd) {
+				throw new IOException("Bad central directory offset in " + file);
+			}
+
+			final Map<String, Entry> entries = new HashMap<>();
+			int p = (int) cenOffset;
+			for (int i = 0; i < count; i++) {
+				if (p + CEN_SIZE > eocd || buf.getInt(p) != CEN_SIGNATURE) {
+					throw new IOException("Bad central directory in " + file);
+				}
+				final int method = buf.getShort(p + 10) & 0xffff;
+				final long compressedSize = buf.getInt(p + 20) & 0xffffffffL;
+				final long uncompressedSize = buf.getInt(p + 24) & 0xffffffffL;
+				final int nameLength = buf.getShort(p + 28) & 0xffff;
+				final int extraLength = buf.getShort(p + 30) & 0xffff;
+				final int commentLength = buf.getShort(p + 32) & 0xffff;
+				final long offset = buf.getInt(p + 42) & 0xffffffffL;
+				if (p + CEN_SIZE + nameLength > eocd) {
+					throw new IOException("Bad central directory in " + file);
+				}
+				final byte[] nameBytes = new byte[nameLength];
+				final ByteBuffer nameBuf = buf.duplicate();
+				nameBuf.position(p + CEN_SIZE);
+				nameBuf.get(nameBytes);
+				final String name = new String(nameBytes, StandardCharsets.UTF_8);
+				final Entry entry = new Entry(offset, compressedSize,
+					uncompressedSize, method);
+				// NB: Only source files are of interest; keep the index small.
+				if (name.endsWith(".java") && entry.isValid(size)) {
+					entries.put(name, entry);
+				}
+				p += CEN_SIZE + nameLength + extraLength + commentLength;
+			}
+			return entries;
+		}
+	}
+
+	private static ByteBuffer read(final FileChannel channel, final long offset,
+		final int length) throws IOException
+	{
+		final ByteBuffer buf = ByteBuffer.allocate(length);
+		buf.order(ByteOrder.LITTLE_ENDIAN);
+		while (buf.hasRemaining()) {
+			if (channel.read(buf, offset + buf.position()) < 0) {
+				throw new IOException("Unexpected end of file");
+			}
+		}
+		return buf;
+	}
+
+	/**
+	 * Reads a persisted index, or returns null if none is up to date, or if it
+	 * does not fit the archive.
+	 */
+	private static ZipIndex load(final File file, final long lastModified,
+		final long length)
+	{
+		final File indexFile = indexFile(file, lastModified);
+		if (indexFile == null || !indexFile.isFile()) return null;
+		try (final DataInputStream in = new DataInputStream(
+			new BufferedInputStream(new FileInputStream(indexFile))))
+		{
+			if (in.readInt() != MAGIC) return null;
+			// NB: Guard against hash collisions of the index file name.
+			if (!in.readUTF().equals(file.getAbsolutePath())) return null;
+			if (in.readLong() != lastModified) return null;
+			if (in.readLong() != length) return null;
+			final int count = in.readInt();
+			if (count < 0) return null;
+			final Map<String, Entry> entries = new HashMap<>();
+			for (int i = 0; i < count; i++) {
+				final String name = in.readUTF();
+				final Entry entry = new Entry(in.readLong(), in.readLong(), //
+					in.readLong(), in.readShort());
+				// NB: Never trust an entry which points outside the archive.
+				if (!entry.isValid(length)) return null;
+				entries.put(name, entry);
+			}
+			return new ZipIndex(file, lastModified, length, entries);
+		}
+		catch (final IOException | RuntimeException exc) {
+			return null; // NB: Corrupt or stale index; rebuild it.
+		}
+	}
+
+	/** Persists the index; failures are harmless, and ignored. */
+	private static void save(final ZipIndex index) {
+		final File indexFile = indexFile(index.file, index.lastModified);
+		if (indexFile == null) return;
+		// NB: Write to a temporary file first, so readers never see a partial
+		// index, even when several processes index the same archive at once.
+		final File tmp = new File(indexFile.getParentFile(), //
+			indexFile.getName() + "." + //
+			Long.toHexString(System.nanoTime()) + ".tmp");
+		try (final DataOutputStream out = new DataOutputStream(
+			new BufferedOutputStream(new FileOutputStream(tmp))))
+		{
+			out.writeInt(MAGIC);
+			out.writeUTF(index.file.getAbsolutePath());
+			out.writeLong(index.lastModified);
+			out.writeLong(index.length);
+			out.writeInt(index.entries.size());
+			for (final Map.Entry<String, Entry> e : index.entries.entrySet()) {
+				out.writeUTF(e.getKey());
+				out.writeLong(e.getValue().offset);
+				out.writeLong(e.getValue().compressedSize);
+				out.writeLong(e.getValue().size);
+				out.writeShort(e.getValue().method);
+			}
+		}
+		catch (final IOException exc) {
+			tmp.delete();
+			return;
+		}
+		if (!tmp.renameTo(indexFile)) tmp.delete();
+	}
+
+	/** Gets the file to persist the index in, or null if there is none. */
+	private static File indexFile(final File file, final long lastModified) {
+		final File dir;
+		try {
+			dir = SourceFinder.cacheDir(INDEX_DIR);
+		}
+		catch (final IOException exc) {
+			return null;
+		}
+		return new File(dir, file.getName() + "-" + //
+			Integer.toHexString(file.getAbsolutePath().hashCode()) + "-" + //
+			Long.toHexString(lastModified) + ".idx");
+	}
+
+	// -- Helper classes --
+
+	private static class Entry {
+
+		private final long offset;
+		private final long compressedSize;
+		private final long size;
+		private final int method;
+
+		public Entry(final long offset, final long compressedSize,
+			final long size, final int method)
+		{
+			this.offset = offset;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.method = method;
+		}
+
+		/**
+		 * Gets whether the entry lies within an archive of the given length, and
+		 * can be read into a byte array.
+		 */
+		public boolean isValid(final long length) {
+			return offset >= 0 && compressedSize >= 0 && size >= 0 && //
+				compressedSize <= Integer.MAX_VALUE && size <= Integer.MAX_VALUE &&
+				offset + LOC_SIZE + compressedSize <= length;
+		}
+	}
+}
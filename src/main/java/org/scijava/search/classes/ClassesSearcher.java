@@ -31,30 +31,49 @@ package org.scijava.search.classes;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import org.scijava.app.AppService;
 import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.search.SearchQuery;
+import org.scijava.search.SearchQuery.Clause;
 import org.scijava.search.SearchResult;
 import org.scijava.search.Searcher;
+import org.scijava.search.TieredScan;
+import org.scijava.search.index.IndexSnapshot;
+import org.scijava.search.index.IndexedSearcher;
+import org.scijava.search.index.SearchIndexService;
+import org.scijava.search.index.SnapshotIndex;
 import org.scijava.util.Types;
 
 /**
  * {@link Searcher} plugin for Java classes.
+ * <p>
+ * The lowercase names of the loaded classes are indexed once per context. No
+ * event announces newly loaded classes, so the indexer catches up with them
+ * whenever the index is requested; see {@link #refresh}.
+ * </p>
  *
  * @author Curtis Rueden
  */
 @Plugin(type = Searcher.class)
-public class ClassesSearcher implements Searcher {
+public class ClassesSearcher implements IndexedSearcher<Class<?>> {
 
 	@Parameter
 	private AppService appService;
 
+	@Parameter
+	private SearchIndexService searchIndexService;
+
 	@Parameter
 	private LogService log;
 
@@ -67,30 +86,98 @@ public class ClassesSearcher implements Searcher {
 	public List<SearchResult> search(final String text, final boolean fuzzy) {
 		if (text.isEmpty()) return Collections.emptyList();
 
-		final String baseDir = //
-			appService.getApp().getBaseDirectory().getAbsolutePath();
-
-		final LinkedHashSet<Class<?>> matches = new LinkedHashSet<>();
-
 		// Get the list of all classes for consideration.
-		final List<Class<?>> classes = getClasses();
+		return search(text, documents());
+	}
 
-		final String textLower = text.toLowerCase();
+	@Override
+	public Set<String> supportedFields() {
+		return Collections.singleton("class");
+	}
 
-		// First, add classes where name starts with the text.
-		classes.stream() //
-			.filter(c -> startsWith(c, textLower)) //
-			.forEach(matches::add);
+	@Override
+	public List<SearchResult> search(final SearchQuery query,
+		final boolean fuzzy)
+	{
+		// NB: A qualified class name narrows the candidates like the text does.
+		final List<Clause> clauses = query.clauses("class");
+		String text = query.terms();
+		if (text.isEmpty()) {
+			text = clauses.stream().filter(c -> !c.isNegated()) //
+				.map(Clause::value).findFirst().orElse("");
+		}
+		if (text.isEmpty()) return Collections.emptyList();
+		return search(text, fuzzy).stream() //
+			.filter(r -> clauses.stream().allMatch(c -> c.accepts(
+				((ClassSearchResult) r).clazz().getName()))) //
+			.collect(Collectors.toList());
+	}
 
-		// Next, add classes where name has text inside somewhere.
-		classes.stream() //
-			.filter(c -> hasSubstring(c, textLower)) //
-			.forEach(matches::add);
+	@Override
+	public boolean refines(final String previous, final String text) {
+		// NB: The name is matched as a regex, and appending characters to a
+		// regex does not necessarily narrow its matches. So we only refine
+		// literal queries.
+		return !previous.isEmpty() && isLiteral(text) && //
+			text.toLowerCase().startsWith(previous.toLowerCase());
+	}
 
-		// Wrap each matching Class in a ClassSearchResult.
-		return matches.stream() //
-			.map(c -> new ClassSearchResult(c, baseDir)) //
+	@Override
+	public List<SearchResult> refine(final List<SearchResult> previous,
+		final String text, final boolean fuzzy)
+	{
+		// Reuse the previous results, so that their identity is preserved.
+		final Map<Class<?>, SearchResult> candidates = new HashMap<>();
+		for (final SearchResult result : previous) {
+			if (!(result instanceof ClassSearchResult)) continue;
+			candidates.put(((ClassSearchResult) result).clazz(), result);
+		}
+
+		// NB: Keep the classes in their original order, so that the results are
+		// ordered exactly as they would be by a full search.
+		final List<Class<?>> classes = documents().stream() //
+			.filter(candidates::containsKey) //
 			.collect(Collectors.toList());
+
+		return search(text, classes, candidates);
+	}
+
+	/** Gets the classes loaded so far by the context class loader. */
+	@Override
+	public List<Class<?>> documents() {
+		return getClasses();
+	}
+
+	/** Indexes the lowercase name of a class. */
+	@Override
+	public String document(final Class<?> c) {
+		return c.getName().toLowerCase();
+	}
+
+	/**
+	 * Adds the classes loaded since the index was last updated.
+	 * <p>
+	 * Class loaders only ever append to their list of classes. So an index of a
+	 * prefix of the list remains valid; classes loaded since are added to it as
+	 * a new segment, which the index merges in the background. Should the index
+	 * cover other classes altogether, it is rebuilt in the background.
+	 * </p>
+	 */
+	@Override
+	public void refresh(final SnapshotIndex<Class<?>> index) {
+		// NB: Only the indexer keeps the shared index current.
+		if (!searchIndexService.isIndexer(this)) return;
+		final List<Class<?>> classes = documents();
+		// NB: Hold the index's lock, so that concurrent searches add each class
+		// only once.
+		synchronized (index) {
+			final IndexSnapshot<Class<?>> snapshot = index.snapshot();
+			if (!isPrefix(snapshot.items(), classes)) index.rebuild();
+			else if (snapshot.size() < classes.size()) {
+				index.add(new ArrayList<>(classes.subList(snapshot.size(), classes
+					.size())));
+			}
+		}
 	}
 
 	// -- Utility methods --
@@ -121,9 +208,11 @@ public class ClassesSearcher implements Searcher {
 			classesField.setAccessible(true);
 			value = classesField.get(classLoader);
 		}
-		catch (final NoSuchFieldException | SecurityException
-				| IllegalArgumentException | IllegalAccessException exc)
+		catch (final NoSuchFieldException | IllegalAccessException
+				| RuntimeException exc)
 		{
+			// NB: Newer Java versions deny access to the field, unless the
+			// java.lang package is opened to us.
 			log.debug(exc);
 		}
 		if (!(value instanceof List)) return Collections.emptyList();
@@ -134,6 +223,57 @@ public class ClassesSearcher implements Searcher {
 		return new ArrayList<>(classes); // NB: Copy avoids concurrency issues.
 	}
 
+	/** Searches the given classes for the given (nonempty) text. */
+	private List<SearchResult> search(final String text,
+		final List<Class<?>> classes)
+	{
+		// NB: Only consider classes which might match, if the index can tell.
+		// Every match tier requires the text to occur in the class name: simple
+		// names are suffixes of full names.
+		final IndexSnapshot<Class<?>> snapshot = isLiteral(text) ? //
+			searchIndexService.index(this).snapshot() : null;
+		// NB: The index may have caught up with classes loaded since these were
+		// listed; but if it does not cover them all, do without it.
+		final List<Class<?>> candidates = snapshot == null || //
+			!isPrefix(classes, snapshot.items()) ? classes : //
+			snapshot.candidates(Collections.singleton(text.toLowerCase()));
+		return search(text, candidates, Collections.emptyMap());
+	}
+
+	private boolean isPrefix(final List<Class<?>> prefix,
+		final List<Class<?>> classes)
+	{
+		final int size = prefix.size();
+		return size <= classes.size() && //
+			(size == 0 || classes.get(size - 1) == prefix.get(size - 1));
+	}
+
+	private List<SearchResult> search(final String text,
+		final List<Class<?>> classes, final Map<Class<?>, SearchResult> existing)
+	{
+		final String baseDir = //
+			appService.getApp().getBaseDirectory().getAbsolutePath();
+
+		final String textLower = text.toLowerCase();
+
+		final List<Class<?>> matches = TieredScan.scan(classes, Arrays
+			.<Predicate<Class<?>>> asList(
+				// First, classes where name starts with the text.
+				c -> startsWith(c, textLower),
+				// Next, classes where name has text inside somewhere.
+				c -> hasSubstring(c, textLower)));
+
+		// Wrap each matching Class in a ClassSearchResult.
+		return matches.stream() //
+			.map(c -> existing.containsKey(c) ? existing.get(c) : //
+				new ClassSearchResult(c, baseDir)) //
+			.collect(Collectors.toList());
+	}
+
+	private boolean isLiteral(final String text) {
+		return text.chars().noneMatch(c -> ".*+?[](){}|^$\\".indexOf(c) >= 0);
+	}
+
 	private boolean startsWith(final Class<?> c, final String desiredLower) {
 		return c.getName().toLowerCase().startsWith(desiredLower) || //
 			c.getSimpleName().toLowerCase().startsWith(desiredLower);
@@ -0,0 +1,203 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.scijava.InstantiableException;
+import org.scijava.app.StatusService;
+import org.scijava.event.ContextCreatedEvent;
+import org.scijava.event.EventHandler;
+import org.scijava.log.LogService;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.plugin.PluginInfo;
+import org.scijava.plugin.PluginService;
+import org.scijava.search.Searcher;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Default implementation of {@link SearchIndexService}.
+ * <p>
+ * The indexes are built in the background as soon as the context starts, so
+ * that the first search need not wait for them. A search issued before its
+ * index is ready builds it on the spot.
+ * </p>
+ * <p>
+ * Each index is fed by its own instance of the searcher class, the
+ * <em>indexer</em>, which this service creates and keeps. So an index never
+ * holds on to the instances which happen to ask for it, and only the indexer
+ * need keep the index current.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+@Plugin(type = Service.class)
+public class DefaultSearchIndexService extends AbstractService implements
+	SearchIndexService
+{
+
+	@Parameter
+	private PluginService pluginService;
+
+	@Parameter
+	private ThreadService threadService;
+
+	@Parameter
+	private LogService log;
+
+	@Parameter(required = false)
+	private StatusService statusService;
+
+	/** Index of each searcher class, keyed on class name. */
+	private final Map<String, Indexed<?>> indexes = new ConcurrentHashMap<>();
+
+	// -- SearchIndexService methods --
+
+	@Override
+	public <T> SnapshotIndex<T> index(final IndexedSearcher<T> searcher) {
+		@SuppressWarnings("unchecked")
+		final Indexed<T> indexed = (Indexed<T>) indexed(searcher.getClass());
+		indexed.indexer.refresh(indexed.index);
+		return indexed.index;
+	}
+
+	@Override
+	public boolean isIndexer(final IndexedSearcher<?> searcher) {
+		final Indexed<?> indexed = indexes.get(searcher.getClass().getName());
+		return indexed != null && indexed.indexer == searcher;
+	}
+
+	@Override
+	public Map<String, IndexSnapshot<?>> snapshots() {
+		final Map<String, IndexSnapshot<?>> snapshots = new TreeMap<>();
+		indexes.forEach((name, indexed) -> {
+			final SnapshotIndex<?> index = indexed.index;
+			if (index.isBuilt()) snapshots.put(name, index.snapshot());
+		});
+		return snapshots;
+	}
+
+	// -- Event handlers --
+
+	@EventHandler
+	protected void onEvent(
+		@SuppressWarnings("unused") final ContextCreatedEvent evt)
+	{
+		// NB: Searchers can only be created once all services are available.
+		// And indexing may take a while; do not hold up the caller.
+		threadService.run(this::buildIndexes);
+	}
+
+	// -- Helper methods --
+
+	/** Gets the index of the given searcher class, creating it if needed. */
+	private Indexed<?> indexed(final Class<?> type) {
+		return indexes.computeIfAbsent(type.getName(), name -> new Indexed<>(
+			indexer(type)));
+	}
+
+	/** Creates the instance of the given searcher class which feeds its index. */
+	private IndexedSearcher<?> indexer(final Class<?> type) {
+		final PluginInfo<Searcher> info = pluginService.getPlugin(type
+			.asSubclass(Searcher.class), Searcher.class);
+		if (info != null) {
+			final Searcher searcher = pluginService.createInstance(info);
+			if (searcher != null) return (IndexedSearcher<?>) searcher;
+		}
+		// NB: Not a plugin; instantiate it directly.
+		try {
+			final Object searcher = type.newInstance();
+			context().inject(searcher);
+			return (IndexedSearcher<?>) searcher;
+		}
+		catch (final InstantiationException | IllegalAccessException exc) {
+			throw new IllegalArgumentException("Cannot create indexer: " + //
+				type.getName(), exc);
+		}
+	}
+
+	/** Builds the index of every {@link IndexedSearcher} plugin. */
+	private void buildIndexes() {
+		final List<Class<?>> types = new ArrayList<>();
+		for (final PluginInfo<Searcher> info : pluginService.getPluginsOfType(
+			Searcher.class))
+		{
+			try {
+				final Class<?> type = info.loadClass();
+				if (IndexedSearcher.class.isAssignableFrom(type)) types.add(type);
+			}
+			catch (final InstantiableException exc) {
+				log.debug(exc);
+			}
+		}
+		for (int i = 0; i < types.size(); i++) {
+			final Class<?> type = types.get(i);
+			try {
+				final Indexed<?> indexed = indexed(type);
+				status(i, types.size(), "Indexing " + indexed.indexer.title());
+				indexed.index.snapshot();
+			}
+			catch (final RuntimeException exc) {
+				log.error("Cannot index " + type.getName(), exc);
+			}
+		}
+		if (statusService != null && !types.isEmpty()) {
+			statusService.clearStatus();
+		}
+	}
+
+	private void status(final int progress, final int max,
+		final String message)
+	{
+		if (statusService != null) statusService.showStatus(progress, max, message);
+	}
+
+	// -- Helper classes --
+
+	/** The index of a searcher class, together with its indexer. */
+	private class Indexed<T> {
+
+		private final IndexedSearcher<T> indexer;
+		private final SnapshotIndex<T> index;
+
+		public Indexed(final IndexedSearcher<T> indexer) {
+			this.indexer = indexer;
+			index = new SnapshotIndex<>(indexer::documents, indexer::document,
+				indexer::fields, threadService::run);
+		}
+	}
+}
@@ -0,0 +1,319 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the terms of a list of documents to the documents
+ * containing them, for ranking the documents by relevance to a query with
+ * the <a href="https://en.wikipedia.org/wiki/Okapi_BM25">BM25</a> function.
+ * <p>
+ * Each document consists of {@link Field}s of text, with weights: a term
+ * occurring in a field of weight 2 counts as two occurrences. Text is split
+ * into {@link #terms(String) terms} at non-alphanumeric characters and
+ * camel-case boundaries, lowercased, and stripped of plural suffixes, so that
+ * e.g. "GaussianBlur" and "gaussian blurs" both yield {@code gaussian} and
+ * {@code blur}.
+ * </p>
+ * <p>
+ * A field may instead be a {@link Field#keyword keyword}: a named value which
+ * is indexed verbatim as a single term, without counting toward the length of
+ * the document, for exact lookups such as {@code in:dataset}.
+ * </p>
+ * <p>
+ * Documents are identified by their position in the original list. The
+ * collection statistics on which BM25 depends are passed in at query time,
+ * so that several indexes can be ranked as one corpus.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public class FullTextIndex {
+
+	/** Term frequency saturation parameter of BM25. */
+	private static final double K1 = 1.2;
+
+	/** Document length normalization parameter of BM25. */
+	private static final double B = 0.75;
+
+	/** Minimum length of an indexed term. */
+	private static final int MIN_TERM_LENGTH = 2;
+
+	private final int size;
+	private final double totalLength;
+	private final float[] lengths;
+	private final Map<String, Postings> postings;
+
+	/**
+	 * Indexes the given documents.
+	 *
+	 * @param documents The fields of each document.
+	 */
+	public FullTextIndex(final List<? extends Collection<Field>> documents) {
+		size = documents.size();
+		lengths = new float[size];
+		final Map<String, PostingsBuilder> builders = new HashMap<>();
+		final Map<String, Float> frequencies = new HashMap<>();
+		double total = 0;
+		for (int id = 0; id < size; id++) {
+			frequencies.clear();
+			for (final Field field : documents.get(id)) {
+				if (field.name != null) {
+					frequencies.merge(term(field.name, field.text), field.weight,
+						Float::sum);
+					continue;
+				}
+				for (final String term : terms(field.text)) {
+					frequencies.merge(term, field.weight, Float::sum);
+					lengths[id] += field.weight;
+				}
+			}
+			total += lengths[id];
+			final int doc = id;
+			frequencies.forEach((term, tf) -> builders.computeIfAbsent(term,
+				t -> new PostingsBuilder()).add(doc, tf));
+		}
+		totalLength = total;
+		postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+		builders.forEach((term, builder) -> postings.put(term, builder.build()));
+	}
+
+	/** Gets the number of indexed documents. */
+	public int size() {
+		return size;
+	}
+
+	/** Gets the total weighted length, in terms, of all documents. */
+	public double totalLength() {
+		return totalLength;
+	}
+
+	/** Estimates the number of bytes this index occupies. */
+	public long footprint() {
+		// NB: Per term, a hash map node, the term string, postings object and
+		// two array headers, plus eight bytes per posting.
+		long bytes = 16L * postings.size() * 4 / 3 + 4L * lengths.length;
+		for (final Map.Entry<String, Postings> entry : postings.entrySet()) {
+			bytes += 136 + 2 * entry.getKey().length() + //
+				8L * entry.getValue().ids.length;
+		}
+		return bytes;
+	}
+
+	/** Gets the number of documents containing the given term. */
+	public int frequency(final String term) {
+		final Postings p = postings.get(term);
+		return p == null ? 0 : p.ids.length;
+	}
+
+	/**
+	 * Scores the documents containing all of the given terms.
+	 *
+	 * @param terms The query terms, as returned by {@link #terms(String)}.
+	 * @param idf The inverse document frequency of each term, as computed by
+	 *          {@link #idf} from statistics of the whole corpus.
+	 * @param averageLength The average weighted length of all documents in the
+	 *          whole corpus.
+	 * @param hits Receiver of the identifier and score of each matching
+	 *          document, in ascending order of identifier.
+	 */
+	public void score(final List<String> terms, final double[] idf,
+		final double averageLength, final Hits hits)
+	{
+		if (terms.isEmpty()) return;
+		final Postings[] lists = new Postings[terms.size()];
+		for (int t = 0; t < lists.length; t++) {
+			lists[t] = postings.get(terms.get(t));
+			if (lists[t] == null) return; // no document has this term
+		}
+		// Walk the postings in parallel; every document must have all terms.
+		final int[] pos = new int[lists.length];
+		final Postings first = lists[0];
+		docs:
+		for (int i = 0; i < first.ids.length; i++) {
+			final int id = first.ids[i];
+			double score = 0;
+			final double norm = K1 * (1 - B + B * lengths[id] / averageLength);
+			for (int t = 0; t < lists.length; t++) {
+				final int[] ids = lists[t].ids;
+				int p = t == 0 ? i : pos[t];
+				while (p < ids.length && ids[p] < id) p++;
+				pos[t] = p;
+				if (p == ids.length) break docs;
+				if (ids[p] != id) continue docs;
+				final double tf = lists[t].frequencies[p];
+				score += idf[t] * tf * (K1 + 1) / (tf + norm);
+			}
+			hits.hit(id, score);
+		}
+	}
+
+	// -- Utility methods --
+
+	/**
+	 * Gets the BM25 inverse document frequency of a term.
+	 *
+	 * @param count Number of documents in the corpus.
+	 * @param frequency Number of documents containing the term.
+	 */
+	public static double idf(final int count, final int frequency) {
+		return Math.log(1 + (count - frequency + 0.5) / (frequency + 0.5));
+	}
+
+	/** Gets the term of the keyword with the given name and value. */
+	public static String term(final String name, final String value) {
+		return name + ":" + value.toLowerCase();
+	}
+
+	/** Splits the given text into distinct, normalized terms, in order. */
+	public static List<String> terms(final String text) {
+		if (text == null) return new ArrayList<>();
+		final Set<String> terms = new LinkedHashSet<>();
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			final char c = i < text.length() ? text.charAt(i) : ' ';
+			final boolean boundary = !Character.isLetterOrDigit(c) || //
+				start >= 0 && Character.isUpperCase(c) && //
+					Character.isLowerCase(text.charAt(i - 1));
+			if (boundary && start >= 0) {
+				final String term = stem(text.substring(start, i).toLowerCase());
+				if (term.length() >= MIN_TERM_LENGTH) terms.add(term);
+				start = -1;
+			}
+			if (start < 0 && Character.isLetterOrDigit(c)) start = i;
+		}
+		return new ArrayList<>(terms);
+	}
+
+	/**
+	 * Strips plural suffixes from the given lowercase word, following the
+	 * "S" stemmer of Harman (1991): light enough not to conflate unrelated
+	 * words, as more aggressive stemmers tend to do with technical terms.
+	 */
+	static String stem(final String word) {
+		final int n = word.length();
+		if (n > 3 && word.endsWith("ies") && !word.endsWith("eies") && //
+			!word.endsWith("aies"))
+		{
+			return word.substring(0, n - 3) + "y";
+		}
+		if (n > 2 && word.endsWith("es") && !word.endsWith("aes") && //
+			!word.endsWith("ees") && !word.endsWith("oes"))
+		{
+			return word.substring(0, n - 1);
+		}
+		if (n > 1 && word.endsWith("s") && !word.endsWith("us") && //
+			!word.endsWith("ss"))
+		{
+			return word.substring(0, n - 1);
+		}
+		return word;
+	}
+
+	// -- Helper classes --
+
+	/** A weighted text field of a document. */
+	public static final class Field {
+
+		private final String name;
+		private final String text;
+		private final float weight;
+
+		public Field(final String text, final float weight) {
+			this(null, text, weight);
+		}
+
+		private Field(final String name, final String text, final float weight) {
+			this.name = name;
+			this.text = text;
+			this.weight = weight;
+		}
+
+		/**
+		 * Creates a keyword field, found by the {@link FullTextIndex#term term}
+		 * of the given name and value.
+		 */
+		public static Field keyword(final String name, final String value) {
+			return new Field(name, value, 1);
+		}
+
+		@Override
+		public String toString() {
+			return (name == null ? "" : name + ":") + text + " (" + weight + ")";
+		}
+	}
+
+	/** Receiver of scored documents. */
+	public interface Hits {
+
+		void hit(int id, double score);
+	}
+
+	/** Ascending document identifiers, with the term frequency in each. */
+	private static class Postings {
+
+		private final int[] ids;
+		private final float[] frequencies;
+
+		public Postings(final int[] ids, final float[] frequencies) {
+			this.ids = ids;
+			this.frequencies = frequencies;
+		}
+	}
+
+	private static class PostingsBuilder {
+
+		private int[] ids = new int[2];
+		private float[] frequencies = new float[2];
+		private int count;
+
+		public void add(final int id, final float frequency) {
+			if (count == ids.length) {
+				ids = Arrays.copyOf(ids, count * 2);
+				frequencies = Arrays.copyOf(frequencies, count * 2);
+			}
+			ids[count] = id;
+			frequencies[count++] = frequency;
+		}
+
+		public Postings build() {
+			return new Postings(Arrays.copyOf(ids, count), Arrays.copyOf(
+				frequencies, count));
+		}
+	}
+}
@@ -0,0 +1,287 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.scijava.search.index.FullTextIndex.Field;
+
+/**
+ * Immutable state of an indexed corpus at one point in time.
+ * <p>
+ * A snapshot consists of one or more segments, each a list of items with its
+ * own {@link TrigramIndex} and {@link FullTextIndex}, plus a record of removed
+ * items. Adding or removing
+ * items yields a new snapshot which shares the existing segments, so updates
+ * are cheap; {@link SnapshotIndex} merges the segments again in the
+ * background once they pile up.
+ * </p>
+ * <p>
+ * Since snapshots never change, any number of threads may read one without
+ * locking, and never observe a partial update.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public final class IndexSnapshot<T> {
+
+	private final Function<? super T, String> document;
+	private final Function<? super T, List<Field>> fields;
+	private final List<Segment<T>> segments;
+
+	/**
+	 * Removed items, each with the number of segments at the time of its
+	 * removal: the item is hidden from those segments, but not from any added
+	 * afterwards.
+	 */
+	private final Map<T, Integer> removed;
+
+	/** All live items, in order. */
+	private final List<T> items;
+
+	/**
+	 * Indexes the given items as a single segment, for substring search only.
+	 *
+	 * @param items The items to index.
+	 * @param document Function computing the text by which to index an item.
+	 */
+	public IndexSnapshot(final List<T> items,
+		final Function<? super T, String> document)
+	{
+		this(items, document, item -> Collections.emptyList());
+	}
+
+	/**
+	 * Indexes the given items as a single segment.
+	 *
+	 * @param items The items to index.
+	 * @param document Function computing the text by which to index an item
+	 *          for substring search.
+	 * @param fields Function computing the fields by which to index an item
+	 *          for full-text search.
+	 */
+	public IndexSnapshot(final List<T> items,
+		final Function<? super T, String> document,
+		final Function<? super T, List<Field>> fields)
+	{
+		this(document, fields, Collections.singletonList(new Segment<>(items,
+			document, fields)), Collections.emptyMap());
+	}
+
+	private IndexSnapshot(final Function<? super T, String> document,
+		final Function<? super T, List<Field>> fields,
+		final List<Segment<T>> segments, final Map<T, Integer> removed)
+	{
+		this.document = document;
+		this.fields = fields;
+		this.segments = segments;
+		this.removed = removed;
+		final List<T> all = new ArrayList<>();
+		for (int s = 0; s < segments.size(); s++) {
+			for (final T item : segments.get(s).items) {
+				if (isLive(item, s)) all.add(item);
+			}
+		}
+		items = Collections.unmodifiableList(all);
+	}
+
+	/** Gets all items of the snapshot, in order. */
+	public List<T> items() {
+		return items;
+	}
+
+	/** Gets the number of items in the snapshot. */
+	public int size() {
+		return items.size();
+	}
+
+	/** Gets the number of segments, which merging reduces to one. */
+	public int segmentCount() {
+		return segments.size();
+	}
+
+	/**
+	 * Gets the number of removed or re-added items whose stale copies still
+	 * occupy the segments.
+	 */
+	public int removedCount() {
+		return removed.size();
+	}
+
+	/**
+	 * Gets the items which may contain all of the given substrings, in order.
+	 * Substrings shorter than {@link TrigramIndex#N} cannot narrow the
+	 * candidates down; if all of them are, all items are returned.
+	 */
+	public List<T> candidates(final Collection<String> substrings) {
+		final List<T> candidates = new ArrayList<>();
+		for (int s = 0; s < segments.size(); s++) {
+			final Segment<T> segment = segments.get(s);
+			final int[] ids = segment.index.candidates(substrings);
+			if (ids == null) return items;
+			for (final int id : ids) {
+				final T item = segment.items.get(id);
+				if (isLive(item, s)) candidates.add(item);
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Gets the items containing all terms of the given query, most relevant
+	 * first, as ranked by {@link FullTextIndex}.
+	 */
+	public List<T> rank(final String query) {
+		return rank(FullTextIndex.terms(query));
+	}
+
+	/**
+	 * Gets the items containing all of the given terms, most relevant first.
+	 *
+	 * @param terms Distinct terms, as returned by {@link FullTextIndex#terms}
+	 *          or {@link FullTextIndex#term}.
+	 */
+	public List<T> rank(final List<String> terms) {
+		if (terms.isEmpty()) return Collections.emptyList();
+
+		// Gather the statistics of the whole corpus.
+		int count = 0;
+		double length = 0;
+		for (final Segment<T> segment : segments) {
+			count += segment.text.size();
+			length += segment.text.totalLength();
+		}
+		if (length == 0) return Collections.emptyList();
+		final double[] idf = new double[terms.size()];
+		for (int t = 0; t < idf.length; t++) {
+			int frequency = 0;
+			for (final Segment<T> segment : segments) {
+				frequency += segment.text.frequency(terms.get(t));
+			}
+			idf[t] = FullTextIndex.idf(count, frequency);
+		}
+
+		final List<T> hits = new ArrayList<>();
+		final Map<T, Double> scores = new HashMap<>();
+		for (int s = 0; s < segments.size(); s++) {
+			final Segment<T> segment = segments.get(s);
+			final int index = s;
+			segment.text.score(terms, idf, length / count, (id, score) -> {
+				final T item = segment.items.get(id);
+				if (!isLive(item, index)) return;
+				hits.add(item);
+				scores.put(item, score);
+			});
+		}
+		// NB: The sort is stable, so equally relevant items keep their order.
+		hits.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+		return hits;
+	}
+
+	/**
+	 * Estimates the number of bytes this snapshot occupies, beyond the items
+	 * themselves.
+	 */
+	public long footprint() {
+		// NB: One reference per item in the segments, and another in the list
+		// of live items; a hash map node and boxed integer per removed item.
+		long bytes = 8L * items.size() + 48L * removed.size();
+		for (final Segment<T> segment : segments) {
+			bytes += 4L * segment.items.size() + segment.index.footprint() + //
+				segment.text.footprint();
+		}
+		return bytes;
+	}
+
+	/** Gets a new snapshot with the given items appended as a new segment. */
+	public IndexSnapshot<T> plus(final List<T> added) {
+		return update(Collections.emptySet(), added);
+	}
+
+	/** Gets a new snapshot without the given items. */
+	public IndexSnapshot<T> minus(final Collection<T> gone) {
+		return update(gone, Collections.emptyList());
+	}
+
+	/**
+	 * Gets a new snapshot without the {@code gone} items, but with the
+	 * {@code added} items appended as a new segment. An added item which was
+	 * already present moves to the end, so that applying the same update twice
+	 * does no harm.
+	 */
+	public IndexSnapshot<T> update(final Collection<T> gone,
+		final List<T> added)
+	{
+		if (gone.isEmpty() && added.isEmpty()) return this;
+		final Map<T, Integer> newRemoved = new HashMap<>(removed);
+		for (final T item : gone) newRemoved.put(item, segments.size());
+		for (final T item : added) newRemoved.put(item, segments.size());
+		if (added.isEmpty()) {
+			return new IndexSnapshot<>(document, fields, segments, newRemoved);
+		}
+		final List<Segment<T>> newSegments = new ArrayList<>(segments);
+		newSegments.add(new Segment<>(added, document, fields));
+		return new IndexSnapshot<>(document, fields, newSegments, newRemoved);
+	}
+
+	// -- Helper methods --
+
+	private boolean isLive(final T item, final int segment) {
+		final Integer removedBefore = removed.get(item);
+		return removedBefore == null || segment >= removedBefore;
+	}
+
+	// -- Helper classes --
+
+	private static class Segment<T> {
+
+		private final List<T> items;
+		private final TrigramIndex index;
+		private final FullTextIndex text;
+
+		public Segment(final List<T> items,
+			final Function<? super T, String> document,
+			final Function<? super T, List<Field>> fields)
+		{
+			this.items = Collections.unmodifiableList(new ArrayList<>(items));
+			index = new TrigramIndex(items.stream().map(document).collect(
+				Collectors.toList()));
+			text = new FullTextIndex(items.stream().map(fields).collect(
+				Collectors.toList()));
+		}
+	}
+}
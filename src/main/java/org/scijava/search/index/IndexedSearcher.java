@@ -0,0 +1,83 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.scijava.search.Searcher;
+import org.scijava.search.index.FullTextIndex.Field;
+
+/**
+ * A {@link Searcher} whose corpus is indexed once per context by the
+ * {@link SearchIndexService}, rather than once per searcher instance.
+ * <p>
+ * The searcher contributes its documents: the items to search, the text by
+ * which to index each of them for substring search and, optionally, the
+ * fields by which to index them for full-text search. It obtains the shared
+ * index via {@link SearchIndexService#index}. The index is kept current by
+ * applying changes to the corpus via {@link SnapshotIndex#update}; since every
+ * instance of the searcher may observe the same change, only the
+ * {@link SearchIndexService#isIndexer indexer} does so.
+ * </p>
+ *
+ * @author Curtis Rueden
+ * @param <T> Type of item in the corpus.
+ */
+public interface IndexedSearcher<T> extends Searcher {
+
+	/** Gets the complete, current corpus of items to search. */
+	List<T> documents();
+
+	/**
+	 * Gets the text by which to index the given item. Substring matches are
+	 * case-sensitive, so this is typically lowercase.
+	 */
+	String document(T item);
+
+	/**
+	 * Gets the fields by which to index the given item for full-text search,
+	 * if any. By default, items are indexed for substring search only.
+	 */
+	default List<Field> fields(@SuppressWarnings("unused") final T item) {
+		return Collections.emptyList();
+	}
+
+	/**
+	 * Brings the given index up to date with changes to the corpus which the
+	 * searcher is not notified of. Called on the indexer whenever the index is
+	 * requested; by default, does nothing.
+	 */
+	default void refresh(
+		@SuppressWarnings("unused") final SnapshotIndex<T> index)
+	{
+		// NB: No-op.
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.Map;
+
+import org.scijava.service.SciJavaService;
+
+/**
+ * Service owning the search indexes of all {@link IndexedSearcher}s, so that
+ * each corpus is indexed once per context, however many search operations
+ * and panels are open.
+ *
+ * @author Curtis Rueden
+ */
+public interface SearchIndexService extends SciJavaService {
+
+	/**
+	 * Gets the shared index of the given searcher's corpus. All instances of
+	 * the same searcher class share one index, fed by an instance of that class
+	 * which this service owns: the <em>indexer</em>.
+	 */
+	<T> SnapshotIndex<T> index(IndexedSearcher<T> searcher);
+
+	/**
+	 * Gets whether the given searcher is the indexer of its class's index: the
+	 * one instance which should apply changes in its corpus to the index.
+	 */
+	boolean isIndexer(IndexedSearcher<?> searcher);
+
+	/**
+	 * Gets the current snapshot of each index built so far, keyed on the
+	 * searcher class name, for inspection of their sizes.
+	 */
+	Map<String, IndexSnapshot<?>> snapshots();
+
+	/** Estimates the number of bytes occupied by all indexes built so far. */
+	default long footprint() {
+		return snapshots().values().stream() //
+			.mapToLong(IndexSnapshot::footprint).sum();
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.scijava.search.index.FullTextIndex.Field;
+
+/**
+ * Index of a changing corpus, published as a sequence of immutable
+ * {@link IndexSnapshot}s.
+ * <p>
+ * Readers obtain the current snapshot via {@link #snapshot()}, which never
+ * locks once the first snapshot exists. Writers {@link #add} and
+ * {@link #remove} items, cheaply publishing a new snapshot which shares the
+ * previous one's segments. When too many segments or removed items
+ * accumulate, the whole corpus is reindexed in the background; meanwhile,
+ * readers keep using the latest published snapshot.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public class SnapshotIndex<T> {
+
+	/** Segment count above which the corpus is reindexed. */
+	private static final int MAX_SEGMENTS = 8;
+
+	/** Fraction of removed items above which the corpus is reindexed. */
+	private static final int REMOVED_DIVISOR = 8;
+
+	private final Supplier<List<T>> source;
+	private final Function<? super T, String> document;
+	private final Function<? super T, List<Field>> fields;
+	private final Executor executor;
+
+	private final AtomicReference<IndexSnapshot<T>> current =
+		new AtomicReference<>();
+
+	/** Whether a background rebuild is scheduled but not yet published. */
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+	/** Number of writes so far. Guarded by {@code this}. */
+	private long modCount;
+
+	/**
+	 * @param source Supplier of the complete, current corpus.
+	 * @param document Function computing the text by which to index an item.
+	 * @param executor Executor on which to reindex in the background.
+	 */
+	public SnapshotIndex(final Supplier<List<T>> source,
+		final Function<? super T, String> document, final Executor executor)
+	{
+		this(source, document, item -> Collections.emptyList(), executor);
+	}
+
+	/**
+	 * @param source Supplier of the complete, current corpus.
+	 * @param document Function computing the text by which to index an item
+	 *          for substring search.
+	 * @param fields Function computing the fields by which to index an item
+	 *          for full-text search.
+	 * @param executor Executor on which to reindex in the background.
+	 */
+	public SnapshotIndex(final Supplier<List<T>> source,
+		final Function<? super T, String> document,
+		final Function<? super T, List<Field>> fields, final Executor executor)
+	{
+		this.source = source;
+		this.document = document;
+		this.fields = fields;
+		this.executor = executor;
+	}
+
+	/** Gets the current snapshot, building the first one if needed. */
+	public IndexSnapshot<T> snapshot() {
+		final IndexSnapshot<T> snapshot = current.get();
+		return snapshot != null ? snapshot : initialSnapshot();
+	}
+
+	/** Gets whether the first snapshot has been built yet. */
+	public boolean isBuilt() {
+		return current.get() != null;
+	}
+
+	/** Adds the given items to the index. */
+	public void add(final List<T> items) {
+		update(Collections.emptySet(), items);
+	}
+
+	/** Removes the given items from the index. */
+	public void remove(final Collection<T> items) {
+		update(items, Collections.emptyList());
+	}
+
+	/**
+	 * Removes the {@code gone} items from the index and adds the {@code added}
+	 * items to it, publishing both changes at once.
+	 */
+	public synchronized void update(final Collection<T> gone,
+		final List<T> added)
+	{
+		final IndexSnapshot<T> snapshot = current.get();
+		if (snapshot == null) return; // NB: Built later, in full.
+		if (gone.isEmpty() && added.isEmpty()) return;
+		modCount++;
+		publish(snapshot.update(gone, added));
+	}
+
+	/** Reindexes the whole corpus in the background. */
+	public void rebuild() {
+		if (!rebuilding.compareAndSet(false, true)) return; // already scheduled
+		executor.execute(() -> {
+			while (true) {
+				final long expected;
+				synchronized (this) {
+					expected = modCount;
+				}
+				final IndexSnapshot<T> rebuilt = //
+					new IndexSnapshot<>(source.get(), document, fields);
+				synchronized (this) {
+					// NB: If the corpus changed while we were reading it, we cannot
+					// tell whether the rebuilt snapshot reflects the change; retry.
+					if (modCount != expected) continue;
+					current.set(rebuilt);
+					rebuilding.set(false);
+					return;
+				}
+			}
+		});
+	}
+
+	// -- Helper methods --
+
+	private synchronized IndexSnapshot<T> initialSnapshot() {
+		IndexSnapshot<T> snapshot = current.get();
+		if (snapshot == null) {
+			snapshot = new IndexSnapshot<>(source.get(), document, fields);
+			current.set(snapshot);
+		}
+		return snapshot;
+	}
+
+	/** Publishes the given snapshot, and compacts it if needed. */
+	private void publish(final IndexSnapshot<T> snapshot) {
+		current.set(snapshot);
+		if (snapshot.segmentCount() > MAX_SEGMENTS || //
+			snapshot.removedCount() > snapshot.size() / REMOVED_DIVISOR)
+		{
+			rebuild();
+		}
+	}
+}
@@ -0,0 +1,226 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from the trigrams (three-character substrings) of a list of
+ * documents to the documents containing them.
+ * <p>
+ * A document containing a given substring necessarily contains all of its
+ * trigrams. So intersecting the postings of those trigrams narrows a large
+ * corpus down to a small set of candidates, which the caller then verifies
+ * with the actual match criteria, rather than testing every document.
+ * Substrings shorter than three characters cannot be narrowed down this way.
+ * </p>
+ * <p>
+ * Documents are identified by their position in the original list. Matching
+ * is case-sensitive; callers typically index and query lowercase text. The
+ * postings are stored as delta-encoded variable-length integers, which
+ * typically takes one or two bytes per posting.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public class TrigramIndex {
+
+	/** Length of the indexed substrings. */
+	public static final int N = 3;
+
+	/**
+	 * Once the candidates are this many times fewer than the postings of the
+	 * next trigram, further intersections cost more than verifying them.
+	 */
+	private static final int INTERSECTION_RATIO = 8;
+
+	private final int size;
+	private final Map<Long, Postings> postings;
+
+	/**
+	 * Indexes the given documents.
+	 *
+	 * @param documents The text of each document.
+	 */
+	public TrigramIndex(final List<String> documents) {
+		size = documents.size();
+		final Map<Long, PostingsBuilder> builders = new HashMap<>();
+		final Set<Long> grams = new HashSet<>();
+		for (int id = 0; id < size; id++) {
+			grams.clear();
+			trigrams(documents.get(id), grams);
+			for (final Long gram : grams) {
+				builders.computeIfAbsent(gram, g -> new PostingsBuilder()).add(id);
+			}
+		}
+		postings = new HashMap<>(builders.size() * 4 / 3 + 1);
+		builders.forEach((gram, builder) -> postings.put(gram, builder.build()));
+	}
+
+	/** Gets the number of indexed documents. */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Gets the documents which may contain all of the given substrings.
+	 *
+	 * @param substrings The substrings which matching documents must contain.
+	 * @return The identifiers of the candidate documents, in ascending order,
+	 *         or null if the substrings are too short to narrow the candidates
+	 *         down at all.
+	 */
+	public int[] candidates(final Collection<String> substrings) {
+		final Set<Long> grams = new HashSet<>();
+		for (final String s : substrings) trigrams(s, grams);
+		if (grams.isEmpty()) return null;
+
+		// Intersect the rarest postings first.
+		final List<Postings> lists = new ArrayList<>(grams.size());
+		for (final Long gram : grams) {
+			final Postings p = postings.get(gram);
+			if (p == null) return new int[0]; // no document has this trigram
+			lists.add(p);
+		}
+		lists.sort(Comparator.comparingInt(p -> p.count));
+		int[] result = lists.get(0).decode();
+		for (int i = 1; i < lists.size() && result.length > 0; i++) {
+			final Postings p = lists.get(i);
+			// NB: The caller verifies the candidates anyway; stop intersecting
+			// once decoding the remaining postings would cost more.
+			if ((long) result.length * INTERSECTION_RATIO < p.count) break;
+			result = p.intersect(result);
+		}
+		return result;
+	}
+
+	/** Estimates the number of bytes this index occupies. */
+	public long footprint() {
+		// NB: Per trigram, a hash map node, boxed key, postings object and array
+		// header, plus the encoded postings themselves.
+		long bytes = 16L * postings.size() * 4 / 3;
+		for (final Postings p : postings.values()) bytes += 96 + p.bytes.length;
+		return bytes;
+	}
+
+	// -- Helper methods --
+
+	/** Adds the trigrams of the given text to the given set. */
+	private static void trigrams(final String text, final Set<Long> grams) {
+		for (int i = 0; i + N <= text.length(); i++) {
+			grams.add(((long) text.charAt(i) << 32) | //
+				((long) text.charAt(i + 1) << 16) | text.charAt(i + 2));
+		}
+	}
+
+	// -- Helper classes --
+
+	/** Ascending document identifiers, as delta-encoded varints. */
+	private static class Postings {
+
+		private final int count;
+		private final byte[] bytes;
+
+		public Postings(final int count, final byte[] bytes) {
+			this.count = count;
+			this.bytes = bytes;
+		}
+
+		public int[] decode() {
+			final int[] ids = new int[count];
+			int pos = 0, id = 0;
+			for (int i = 0; i < count; i++) {
+				int delta = 0, shift = 0, b;
+				do {
+					b = bytes[pos++];
+					delta |= (b & 0x7f) << shift;
+					shift += 7;
+				}
+				while ((b & 0x80) != 0);
+				id += delta;
+				ids[i] = id;
+			}
+			return ids;
+		}
+
+		/** Gets the given ascending identifiers which are also in this list. */
+		public int[] intersect(final int[] ids) {
+			final int[] result = new int[Math.min(ids.length, count)];
+			int n = 0, j = 0, pos = 0, id = 0;
+			for (int i = 0; i < count && j < ids.length; i++) {
+				int delta = 0, shift = 0, b;
+				do {
+					b = bytes[pos++];
+					delta |= (b & 0x7f) << shift;
+					shift += 7;
+				}
+				while ((b & 0x80) != 0);
+				id += delta;
+				while (j < ids.length && ids[j] < id) j++;
+				if (j < ids.length && ids[j] == id) result[n++] = id;
+			}
+			return Arrays.copyOf(result, n);
+		}
+	}
+
+	private static class PostingsBuilder {
+
+		private byte[] bytes = new byte[4];
+		private int length;
+		private int count;
+		private int last;
+
+		public void add(final int id) {
+			int delta = id - last;
+			last = id;
+			count++;
+			if (length + 5 > bytes.length) {
+				bytes = Arrays.copyOf(bytes, bytes.length * 2);
+			}
+			while ((delta & ~0x7f) != 0) {
+				bytes[length++] = (byte) ((delta & 0x7f) | 0x80);
+				delta >>>= 7;
+			}
+			bytes[length++] = (byte) delta;
+		}
+
+		public Postings build() {
+			return new Postings(count, Arrays.copyOf(bytes, length));
+		}
+	}
+}
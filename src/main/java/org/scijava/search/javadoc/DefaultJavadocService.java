@@ -39,6 +39,7 @@ import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
 import java.util.regex.Matcher;
@@ -49,6 +50,7 @@ import org.scijava.app.StatusService;
 import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.search.VirtualThreads;
 import org.scijava.service.AbstractService;
 import org.scijava.service.Service;
 import org.scijava.thread.ThreadService;
@@ -114,7 +116,7 @@ public class DefaultJavadocService extends AbstractService implements
 			final String project = iMatcher.replaceAll("$1");
 			if (project.equals("Java6") || project.equals("Java7")) continue;
 			futures.put(project, //
-				threadService.run(() -> lines(prefix + project + "/allclasses-noframe.html")));
+				run(() -> lines(prefix + project + "/allclasses-noframe.html")));
 		}
 
 		// Process the downloaded allclasses-noframe pages.
@@ -146,6 +148,12 @@ public class DefaultJavadocService extends AbstractService implements
 		return classLinks;
 	}
 
+	/** Runs the given blocking task, on a virtual thread if enabled. */
+	private <T> Future<T> run(final Callable<T> task) {
+		return VirtualThreads.isEnabled() ? VirtualThreads.run(task) : //
+			threadService.run(task);
+	}
+
 	/** Reads URL content as a list of lines with UTF-8 encoding. */
 	private List<String> lines(final String url) {
 		try (final BufferedReader r = new BufferedReader(new InputStreamReader(
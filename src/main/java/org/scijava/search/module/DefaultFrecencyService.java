@@ -0,0 +1,164 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.module;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.scijava.module.ModuleInfo;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.prefs.PrefService;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Default implementation of {@link FrecencyService}.
+ * <p>
+ * Each run's weight halves every week. Rather than a count and a timestamp,
+ * each module stores a single number, its <em>level</em>: the base-2
+ * logarithm of its score, plus the time elapsed since the epoch in half-lives.
+ * Levels never need to be decayed in place, they compare directly, and a score
+ * is computed from a level in constant time.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+@Plugin(type = Service.class)
+public class DefaultFrecencyService extends AbstractService implements
+	FrecencyService
+{
+
+	/** Time in milliseconds for a run's weight to decay by half. */
+	private static final long HALF_LIFE = TimeUnit.DAYS.toMillis(7);
+
+	/** Maximum number of modules to persist; the lowest levels are dropped. */
+	private static final int MAX_PERSISTED = 256;
+
+	private static final String PREFS_KEY = "levels";
+	private static final String PREFS_QUEUE = "scijava-search-frecency";
+
+	@Parameter
+	private PrefService prefService;
+
+	@Parameter
+	private ThreadService threadService;
+
+	/** Level of each module, keyed on module identifier. */
+	private volatile Map<String, Double> levels;
+
+	// -- FrecencyService methods --
+
+	@Override
+	public void record(final ModuleInfo info) {
+		record(info.getIdentifier(), System.currentTimeMillis());
+	}
+
+	@Override
+	public double score(final ModuleInfo info) {
+		return score(info.getIdentifier(), System.currentTimeMillis());
+	}
+
+	// -- Internal methods --
+
+	void record(final String id, final long time) {
+		if (id == null) return;
+		levels().merge(id, level(1, time), DefaultFrecencyService::add);
+		// NB: Preferences may be backed by disk; persist off the calling thread.
+		threadService.queue(PREFS_QUEUE, this::save);
+	}
+
+	double score(final String id, final long time) {
+		if (id == null) return 0;
+		final Double level = levels().get(id);
+		return level == null ? 0 : Math.pow(2, level - halfLives(time));
+	}
+
+	// -- Helper methods --
+
+	private Map<String, Double> levels() {
+		if (levels == null) load();
+		return levels;
+	}
+
+	private synchronized void load() {
+		if (levels != null) return;
+		final Map<String, Double> map = new ConcurrentHashMap<>();
+		final List<String> entries = prefService.getList(getClass(), PREFS_KEY);
+		if (entries != null) {
+			for (final String entry : entries) {
+				// Each entry is "level id", e.g. "2913.472 command:Blur".
+				final int space = entry.indexOf(' ');
+				if (space < 0) continue;
+				try {
+					map.put(entry.substring(space + 1), //
+						Double.parseDouble(entry.substring(0, space)));
+				}
+				catch (final NumberFormatException exc) {
+					// NB: Skip malformed entry.
+				}
+			}
+		}
+		levels = map;
+	}
+
+	private void save() {
+		final List<String> entries = new ArrayList<>();
+		levels().entrySet().stream() //
+			.sorted(Map.Entry.<String, Double> comparingByValue().reversed()) //
+			.limit(MAX_PERSISTED) //
+			.forEach(e -> entries.add(e.getValue() + " " + e.getKey()));
+		prefService.put(getClass(), PREFS_KEY, entries);
+	}
+
+	/** Gets the level of the given score at the given time. */
+	private static double level(final double score, final long time) {
+		return log2(score) + halfLives(time);
+	}
+
+	/** Adds two levels, i.e. the scores they represent. */
+	private static double add(final double a, final double b) {
+		final double max = Math.max(a, b), min = Math.min(a, b);
+		// NB: Compute relative to the larger level, to avoid overflow.
+		return max + log2(1 + Math.pow(2, min - max));
+	}
+
+	private static double halfLives(final long time) {
+		return (double) time / HALF_LIFE;
+	}
+
+	private static double log2(final double x) {
+		return Math.log(x) / Math.log(2);
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.module;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+
+import org.scijava.log.LogService;
+import org.scijava.module.ModuleInfo;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.search.ArtifactMetadata;
+import org.scijava.search.SourceFinder;
+import org.scijava.search.SourceNotFoundException;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Default implementation of {@link ModuleResolutionService}.
+ *
+ * @author Curtis Rueden
+ */
+@Plugin(type = Service.class)
+public class DefaultModuleResolutionService extends AbstractService implements
+	ModuleResolutionService
+{
+
+	@Parameter
+	private ThreadService threadService;
+
+	@Parameter
+	private LogService log;
+
+	/**
+	 * Resolutions computed or underway. Weakly keyed, so that modules removed
+	 * from the context are not kept alive. Guarded by itself.
+	 */
+	private final Map<ModuleInfo, CompletableFuture<ModuleResolution>> resolutions =
+		new WeakHashMap<>();
+
+	// -- ModuleResolutionService methods --
+
+	@Override
+	public ModuleResolution resolve(final ModuleInfo info) {
+		return future(info, false).join();
+	}
+
+	@Override
+	public ModuleResolution resolveLater(final ModuleInfo info) {
+		return future(info, true).getNow(null);
+	}
+
+	// -- Helper methods --
+
+	/** Gets the resolution of the module, starting to compute it if needed. */
+	private CompletableFuture<ModuleResolution> future(final ModuleInfo info,
+		final boolean background)
+	{
+		final CompletableFuture<ModuleResolution> created =
+			new CompletableFuture<>();
+		final CompletableFuture<ModuleResolution> existing;
+		synchronized (resolutions) {
+			existing = resolutions.putIfAbsent(info, created);
+		}
+		if (existing != null) return existing;
+		final Runnable task = () -> {
+			try {
+				created.complete(compute(info));
+			}
+			catch (final Throwable t) {
+				// NB: Never leave callers waiting on a future which will not finish.
+				// Forget the failure, so that a later request tries again.
+				log.debug("Cannot resolve module: " + info, t);
+				synchronized (resolutions) {
+					resolutions.remove(info, created);
+				}
+				created.complete(new ModuleResolution(null, null, null));
+			}
+		};
+		if (background) threadService.run(task);
+		else task.run();
+		return created;
+	}
+
+	private ModuleResolution compute(final ModuleInfo info) {
+		final Class<?> c;
+		try {
+			c = info.loadDelegateClass();
+		}
+		catch (final ClassNotFoundException | RuntimeException | LinkageError exc) {
+			if (log.isDebug()) {
+				log.debug("Cannot load class: " + info.getDelegateClassName(), exc);
+			}
+			return new ModuleResolution(null, null, null);
+		}
+		String projectURL = null;
+		try {
+			projectURL = ArtifactMetadata.of(c).projectURL();
+		}
+		catch (final RuntimeException exc) {
+			log.debug(exc);
+		}
+		URL sourceLocation = null;
+		try {
+			// NB: Local sources are extracted only when actually requested; see
+			// ModuleSourceSearchActionFactory. Resolving must have no side effects.
+			sourceLocation = SourceFinder.sourceLocation(c, log);
+		}
+		catch (final SourceNotFoundException | RuntimeException exc) {
+			log.debug(exc);
+		}
+		return new ModuleResolution(c, projectURL, sourceLocation);
+	}
+}
@@ -34,11 +34,11 @@ import org.scijava.module.ModuleInfo;
 import org.scijava.platform.PlatformService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.search.ArtifactMetadata;
 import org.scijava.search.DefaultSearchAction;
 import org.scijava.search.SearchAction;
 import org.scijava.search.SearchActionFactory;
 import org.scijava.search.SearchResult;
-import org.scijava.util.POM;
 
 import java.io.IOException;
 import java.net.URL;
@@ -57,6 +57,9 @@ public class HelpSearchActionFactory implements SearchActionFactory {
 	@Parameter
 	private LogService log;
 
+	@Parameter(required = false)
+	private ModuleResolutionService resolutionService;
+
 	@Override
 	public boolean supports(final SearchResult result) {
 		return result instanceof ModuleSearchResult;
@@ -74,8 +77,9 @@ public class HelpSearchActionFactory implements SearchActionFactory {
 			// In future, we need to add a url field to @Plugin for
 			// embedding the URL associated with that specific plugin.
 			final ModuleInfo info = result.info();
-			final String url = POM.getPOM(info.loadDelegateClass())
-				.getProjectURL();
+			final String url = resolutionService == null ? //
+				ArtifactMetadata.of(info.loadDelegateClass()).projectURL() : //
+				resolutionService.resolve(info).projectURL();
 			platformService.open(new URL(url));
 		}
 		catch (final IOException | ClassNotFoundException exc) {
@@ -0,0 +1,76 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.module;
+
+import java.net.URL;
+
+import org.scijava.module.ModuleInfo;
+
+/**
+ * Everything the module search actions need to know about a
+ * {@link ModuleInfo} that is expensive to discover: its delegate class, which
+ * must be loaded, and the locations of its documentation and source code,
+ * which require parsing its POM.
+ *
+ * @author Curtis Rueden
+ * @see ModuleResolutionService
+ */
+public class ModuleResolution {
+
+	private final Class<?> delegateClass;
+	private final String projectURL;
+	private final URL sourceLocation;
+
+	public ModuleResolution(final Class<?> delegateClass,
+		final String projectURL, final URL sourceLocation)
+	{
+		this.delegateClass = delegateClass;
+		this.projectURL = projectURL;
+		this.sourceLocation = sourceLocation;
+	}
+
+	/** Gets the module's delegate class, or null if it cannot be loaded. */
+	public Class<?> delegateClass() {
+		return delegateClass;
+	}
+
+	/** Gets the URL of the module's project, or null if unknown. */
+	public String projectURL() {
+		return projectURL;
+	}
+
+	/**
+	 * Gets the URL where the module's source code can be browsed online, or null
+	 * if unknown.
+	 */
+	public URL sourceLocation() {
+		return sourceLocation;
+	}
+}
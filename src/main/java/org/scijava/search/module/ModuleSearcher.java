@@ -29,30 +29,67 @@
 
 package org.scijava.search.module;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
+import org.scijava.Context;
+import org.scijava.Contextual;
 import org.scijava.MenuEntry;
 import org.scijava.MenuPath;
 import org.scijava.Priority;
 import org.scijava.app.AppService;
+import org.scijava.event.EventHandler;
+import org.scijava.log.LogService;
 import org.scijava.module.ModuleInfo;
+import org.scijava.module.ModuleItem;
 import org.scijava.module.ModuleService;
+import org.scijava.module.event.ModulesAddedEvent;
+import org.scijava.module.event.ModulesRemovedEvent;
+import org.scijava.module.event.ModulesUpdatedEvent;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
+import org.scijava.script.ScriptInfo;
+import org.scijava.script.ScriptLanguage;
+import org.scijava.search.SearchQuery;
+import org.scijava.search.SearchQuery.Clause;
 import org.scijava.search.SearchResult;
 import org.scijava.search.Searcher;
+import org.scijava.search.TieredScan;
+import org.scijava.search.index.FullTextIndex;
+import org.scijava.search.index.FullTextIndex.Field;
+import org.scijava.search.index.IndexSnapshot;
+import org.scijava.search.index.IndexedSearcher;
+import org.scijava.search.index.SearchIndexService;
+import org.scijava.search.index.SnapshotIndex;
 
 /**
  * {@link Searcher} plugin for SciJava modules.
+ * <p>
+ * Queries may restrict the modules by the types of their inputs and outputs,
+ * by simple or full class name: e.g., {@code in:Dataset out:Table} finds
+ * commands taking a {@code Dataset} (or subtype thereof) and producing a
+ * {@code Table}. Modules may also be restricted by menu path
+ * ({@code menu:Process}), delegate class name ({@code class:ij.plugin}) and
+ * script language ({@code lang:python}); see {@link SearchQuery}.
+ * </p>
  *
  * @author Curtis Rueden
  */
 @Plugin(type = Searcher.class, priority = Priority.VERY_HIGH)
-public class ModuleSearcher implements Searcher {
+public class ModuleSearcher implements IndexedSearcher<ModuleInfo> {
+
+	/** Query fields evaluated by this searcher. */
+	private static final Set<String> FIELDS = Collections.unmodifiableSet(
+		new HashSet<>(Arrays.asList("menu", "class", "lang", "in", "out")));
 
 	@Parameter
 	private ModuleService moduleService;
@@ -60,6 +97,15 @@ public class ModuleSearcher implements Searcher {
 	@Parameter
 	private AppService appService;
 
+	@Parameter
+	private SearchIndexService searchIndexService;
+
+	@Parameter
+	private LogService log;
+
+	@Parameter(required = false)
+	private FrecencyService frecencyService;
+
 	@Override
 	public String title() {
 		// NB: A misnomer, but it's the term users are familiar with.
@@ -68,50 +114,209 @@ public class ModuleSearcher implements Searcher {
 
 	@Override
 	public List<SearchResult> search(final String text, final boolean fuzzy) {
-		if (text.isEmpty()) return Collections.emptyList();
+		return search(SearchQuery.parse(text), fuzzy);
+	}
 
-		final String baseDir = //
-			appService.getApp().getBaseDirectory().getAbsolutePath();
+	@Override
+	public Set<String> supportedFields() {
+		return FIELDS;
+	}
 
-		final LinkedHashSet<ModuleInfo> matches = new LinkedHashSet<>();
+	@Override
+	public List<SearchResult> search(final SearchQuery query,
+		final boolean fuzzy)
+	{
+		// NB: A plain query is searched as is.
+		final String text = query.isPlain() ? query.text() : query.terms();
+		final IndexSnapshot<ModuleInfo> snapshot = index().snapshot();
 
-		// Get the list of all modules for consideration.
-		final List<ModuleInfo> modules = moduleService.getModules().stream() //
-			.filter(this::isGoodModule) //
+		// Look up the qualified types in the index; check other fields directly.
+		final List<String> types = new ArrayList<>();
+		final List<String> menuParts = new ArrayList<>();
+		Predicate<ModuleInfo> filter = info -> true;
+		boolean fielded = false;
+		for (final Clause c : query.clauses()) {
+			if (c.field() == null || !FIELDS.contains(c.field())) continue;
+			fielded = true;
+			switch (c.field()) {
+				case "in":
+				case "out":
+					final String term = FullTextIndex.term(c.field(), c.value());
+					if (!c.isNegated()) types.add(term);
+					else {
+						final Set<ModuleInfo> excluded = //
+							new HashSet<>(snapshot.rank(Collections.singletonList(term)));
+						filter = filter.and(info -> !excluded.contains(info));
+					}
+					break;
+				case "menu":
+					if (!c.isNegated()) {
+						for (final String part : c.value().toLowerCase().split(">")) {
+							menuParts.add(part.trim());
+						}
+					}
+					filter = filter.and(info -> c.accepts(menu(info)));
+					break;
+				case "class":
+					filter = filter.and(info -> c.accepts(info.getDelegateClassName()));
+					break;
+				case "lang":
+					filter = filter.and(info -> c.accepts(language(info)));
+					break;
+			}
+		}
+		final List<ModuleInfo> ranked = types.isEmpty() ? null : //
+			snapshot.rank(types);
+		if (ranked != null) {
+			final Set<ModuleInfo> typed = new HashSet<>(ranked);
+			filter = filter.and(typed::contains);
+		}
+
+		if (text.isEmpty()) {
+			// Only fields were given; list all the modules which match them.
+			if (!fielded) return Collections.emptyList();
+			// NB: Narrow down the modules via the index where possible; fields
+			// such as lang: and class: must be checked against every module.
+			final List<ModuleInfo> modules = ranked != null ? ranked : //
+				!menuParts.isEmpty() ? snapshot.candidates(menuParts) : //
+					snapshot.items();
+			return wrap(modules.stream().filter(filter).collect(Collectors
+				.toList()), Collections.emptyMap());
+		}
+
+		// Get the list of modules for consideration: only those which might
+		// match, if the index can tell.
+		// NB: Every match tier requires each whitespace-separated part of the
+		// text to occur in the title or a menu entry; so do menu qualifiers.
+		List<ModuleInfo> modules;
+		if (isLiteral(text)) {
+			final List<String> substrings = new ArrayList<>(menuParts);
+			substrings.addAll(Arrays.asList(text.toLowerCase().split("\\s+")));
+			modules = snapshot.candidates(substrings);
+		}
+		else modules = snapshot.items();
+		modules = modules.stream().filter(filter).collect(Collectors.toList());
+
+		return wrap(matches(text, modules, snapshot, types).stream() //
+			.filter(filter).collect(Collectors.toList()), Collections.emptyMap());
+	}
+
+	@Override
+	public boolean refines(final String previous, final String text) {
+		// NB: The title is matched as a regex, and appending characters to a
+		// regex does not necessarily narrow its matches. So we only refine
+		// literal queries.
+		// Likewise, a growing field qualifier may name something else entirely.
+		return !previous.isEmpty() && isLiteral(text) && //
+			SearchQuery.parse(text).isPlain() && //
+			text.toLowerCase().startsWith(previous.toLowerCase());
+	}
+
+	@Override
+	public List<SearchResult> refine(final List<SearchResult> previous,
+		final String text, final boolean fuzzy)
+	{
+		// Reuse the previous results, so that their identity is preserved.
+		final Map<ModuleInfo, SearchResult> candidates = new HashMap<>();
+		for (final SearchResult result : previous) {
+			if (!(result instanceof ModuleSearchResult)) continue;
+			candidates.put(((ModuleSearchResult) result).info(), result);
+		}
+
+		// NB: Keep the modules in their original order, so that the results are
+		// ordered exactly as they would be by a full search.
+		final IndexSnapshot<ModuleInfo> snapshot = index().snapshot();
+		final List<ModuleInfo> modules = snapshot.items().stream() //
+			.filter(candidates::containsKey) //
 			.collect(Collectors.toList());
 
-		final String textLower = text.toLowerCase();
-		final List<String> textLowerParts = Arrays.asList(textLower.split("\\s+"));
+		return wrap(matches(text, modules, snapshot, Collections.emptyList()),
+			candidates);
+	}
 
-		// Add modules where title starts with the text.
-		modules.stream() //
-			.filter(info -> startsWith(info, textLower) ) //
-			.forEach(matches::add);
+	/**
+	 * Indexes the words of a module's title, menu path and description, as
+	 * well as the names, labels and descriptions of its inputs. Also indexes
+	 * the types of its inputs and outputs, including their supertypes, as
+	 * {@code in:} and {@code out:} keywords.
+	 */
+	@Override
+	public List<Field> fields(final ModuleInfo info) {
+		final List<Field> fields = new ArrayList<>();
+		fields.add(new Field(title(info), 3));
+		final MenuPath menuPath = info.getMenuPath();
+		if (menuPath != null) {
+			for (final MenuEntry entry : menuPath) {
+				fields.add(new Field(entry.getName(), 2));
+			}
+		}
+		fields.add(new Field(info.getDescription(), 1));
+		final Iterable<ModuleItem<?>> inputs, outputs;
+		try {
+			inputs = info.inputs();
+			outputs = info.outputs();
+		}
+		catch (final RuntimeException exc) {
+			// NB: Some modules cannot describe their items without being loaded;
+			// if that fails, such a module is still found by its title.
+			if (log.isDebug()) log.debug("Cannot index items of " + info, exc);
+			return fields;
+		}
+		for (final ModuleItem<?> item : inputs) {
+			if (!isParameter(item)) continue;
+			fields.add(new Field(item.getName(), 1));
+			fields.add(new Field(item.getLabel(), 1));
+			fields.add(new Field(item.getDescription(), 1));
+			addTypes(fields, "in", item.getType());
+		}
+		for (final ModuleItem<?> item : outputs) {
+			if (isParameter(item)) addTypes(fields, "out", item.getType());
+		}
+		return fields;
+	}
 
-		// Add modules where title has text inside somewhere.
-		modules.stream() //
-			.filter(info -> hasSubstringInTitle(info, textLower)) //
-			.forEach(matches::add);
+	/** Gets the good modules: the ones worth searching. */
+	@Override
+	public List<ModuleInfo> documents() {
+		return good(moduleService.getModules());
+	}
 
-		// Add modules where menu path has text inside somewhere.
-		modules.stream() //
-			.filter(info -> hasSubstringInMenu(info, textLower)) //
-			.forEach(matches::add);
+	/** Indexes the text of a module's title and menu path. */
+	@Override
+	public String document(final ModuleInfo info) {
+		final StringBuilder sb = new StringBuilder();
+		sb.append(title(info).toLowerCase());
+		final MenuPath menuPath = info.getMenuPath();
+		if (menuPath != null) {
+			for (final MenuEntry entry : menuPath) {
+				// NB: The separator keeps trigrams from spanning two fields.
+				if (entry.getName() != null) {
+					sb.append('\n').append(entry.getName().toLowerCase());
+				}
+			}
+		}
+		return sb.toString();
+	}
 
-		// Add modules where title has all parts of the text inside somewhere.
-		modules.stream() //
-				.filter(info -> hasSubstringsInTitle(info, textLowerParts)) //
-				.forEach(matches::add);
+	// -- Event handlers --
 
-		// Add modules where menu path has all parts of the text inside somewhere.
-		modules.stream() //
-				.filter(info -> hasSubstringsInMenu(info, textLowerParts)) //
-				.forEach(matches::add);
+	// NB: Every instance observes each change, but the shared index need only
+	// be updated once: by its indexer.
 
-		// Wrap each matching ModuleInfo in a ModuleSearchResult.
-		return matches.stream() //
-			.map(info -> new ModuleSearchResult(info, baseDir)) //
-			.collect(Collectors.toList());
+	@EventHandler
+	protected void onEvent(final ModulesAddedEvent evt) {
+		if (isIndexer()) index().add(good(evt.getItems()));
+	}
+
+	@EventHandler
+	protected void onEvent(final ModulesRemovedEvent evt) {
+		if (isIndexer()) index().remove(evt.getItems());
+	}
+
+	@EventHandler
+	protected void onEvent(final ModulesUpdatedEvent evt) {
+		// NB: An updated module may have become (in)visible or (dis)abled.
+		if (isIndexer()) index().update(evt.getItems(), good(evt.getItems()));
 	}
 
 	// -- Utility methods --
@@ -163,6 +368,123 @@ public class ModuleSearcher implements Searcher {
 
 	// -- Helper methods --
 
+	/** Gets the index of the good modules, shared across the context. */
+	private SnapshotIndex<ModuleInfo> index() {
+		return searchIndexService.index(this);
+	}
+
+	private boolean isIndexer() {
+		return searchIndexService.isIndexer(this);
+	}
+
+	private List<ModuleInfo> good(final List<? extends ModuleInfo> modules) {
+		return modules.stream() //
+			.filter(this::isGoodModule) //
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * Gets the modules which match the given (nonempty) text: the given
+	 * candidates matching its substrings, followed by those from the whole
+	 * snapshot matching its words.
+	 */
+	private List<ModuleInfo> matches(final String text,
+		final List<ModuleInfo> modules, final IndexSnapshot<ModuleInfo> snapshot,
+		final List<String> qualifiers)
+	{
+		final List<ModuleInfo> matches = matches(text, modules);
+		if (!isLiteral(text)) return matches;
+
+		// NB: Words need not be prefixes of one another as the text grows, so
+		// unlike the substring tiers, this tier always considers all modules.
+		final List<String> terms = new ArrayList<>(qualifiers);
+		terms.addAll(FullTextIndex.terms(text));
+		final Set<ModuleInfo> all = new LinkedHashSet<>(matches);
+		all.addAll(snapshot.rank(terms));
+		return new ArrayList<>(all);
+	}
+
+	/** Gets the menu path of the given module, as "A>B>C". */
+	private String menu(final ModuleInfo info) {
+		final MenuPath menuPath = info.getMenuPath();
+		if (menuPath == null) return null;
+		return menuPath.stream().map(MenuEntry::getName) //
+			.collect(Collectors.joining(">"));
+	}
+
+	/** Gets the name and extensions of the given module's language. */
+	private String language(final ModuleInfo info) {
+		if (!(info instanceof ScriptInfo)) return "Java";
+		final ScriptLanguage language = ((ScriptInfo) info).getLanguage();
+		if (language == null) return null;
+		return language.getLanguageName() + " " + //
+			String.join(" ", language.getExtensions());
+	}
+
+	/** Indexes the given type and its supertypes by simple and full name. */
+	private void addTypes(final List<Field> fields, final String name,
+		final Class<?> type)
+	{
+		final Set<Class<?>> types = new LinkedHashSet<>();
+		supertypes(type, types);
+		types.remove(Object.class);
+		for (final Class<?> t : types) {
+			fields.add(Field.keyword(name, t.getSimpleName()));
+			fields.add(Field.keyword(name, t.getName()));
+		}
+	}
+
+	private void supertypes(final Class<?> type, final Set<Class<?>> types) {
+		if (type == null || !types.add(type)) return;
+		supertypes(type.getSuperclass(), types);
+		for (final Class<?> iface : type.getInterfaces()) supertypes(iface, types);
+	}
+
+	private boolean isParameter(final ModuleItem<?> item) {
+		// NB: Services and the like are not parameters users care about.
+		final Class<?> type = item.getType();
+		return type != null && !Contextual.class.isAssignableFrom(type) && //
+			!Context.class.isAssignableFrom(type);
+	}
+
+	/** Gets the given modules which match the given (nonempty) text. */
+	private List<ModuleInfo> matches(final String text,
+		final List<ModuleInfo> modules)
+	{
+		final String textLower = text.toLowerCase();
+		final List<String> textLowerParts = Arrays.asList(textLower.split("\\s+"));
+
+		return TieredScan.scan(modules, Arrays.<Predicate<ModuleInfo>> asList(
+			// First, modules where title starts with the text.
+			info -> startsWith(info, textLower),
+			// Then, modules where title has text inside somewhere.
+			info -> hasSubstringInTitle(info, textLower),
+			// Then, modules where menu path has text inside somewhere.
+			info -> hasSubstringInMenu(info, textLower),
+			// Then, modules where title has all parts of the text inside somewhere.
+			info -> hasSubstringsInTitle(info, textLowerParts),
+			// Last, modules where menu path has all parts of the text inside.
+			info -> hasSubstringsInMenu(info, textLowerParts)), //
+			// Within each tier, favor the modules the user runs most.
+			frecencyService == null ? null : frecencyService::score);
+	}
+
+	/** Wraps each matching ModuleInfo in a ModuleSearchResult. */
+	private List<SearchResult> wrap(final List<ModuleInfo> matches,
+		final Map<ModuleInfo, SearchResult> existing)
+	{
+		final String baseDir = //
+			appService.getApp().getBaseDirectory().getAbsolutePath();
+		return matches.stream() //
+			.map(info -> existing.containsKey(info) ? existing.get(info) : //
+				new ModuleSearchResult(info, baseDir)) //
+			.collect(Collectors.toList());
+	}
+
+	private boolean isLiteral(final String text) {
+		return text.chars().noneMatch(c -> ".*+?[](){}|^$\\".indexOf(c) >= 0);
+	}
+
 	private boolean isGoodModule(final ModuleInfo info) {
 		return info.isVisible() && info.isEnabled() && title(info) != null;
 	}
@@ -29,10 +29,16 @@
 
 package org.scijava.search.module;
 
+import java.net.URL;
+
+import org.scijava.log.LogService;
 import org.scijava.module.ModuleInfo;
+import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.search.SearchActionFactory;
 import org.scijava.search.SearchResult;
+import org.scijava.search.SourceFinder;
+import org.scijava.search.SourceNotFoundException;
 import org.scijava.search.SourceSearchActionFactory;
 
 /**
@@ -44,10 +50,23 @@ import org.scijava.search.SourceSearchActionFactory;
 @Plugin(type = SearchActionFactory.class)
 public class ModuleSourceSearchActionFactory extends SourceSearchActionFactory {
 
+	@Parameter
+	private LogService log;
+
+	@Parameter(required = false)
+	private ModuleResolutionService resolutionService;
+
 	@Override
 	public boolean supports(final SearchResult result) {
 		if (!(result instanceof ModuleSearchResult)) return false;
 		ModuleInfo info = ((ModuleSearchResult) result).info();
+		if (resolutionService != null) {
+			// NB: Never load classes here; assume the source is available until
+			// the background resolution proves otherwise.
+			final ModuleResolution resolution = //
+				resolutionService.resolveLater(info);
+			return resolution == null || resolution.delegateClass() != null;
+		}
 		try {
 			info.loadDelegateClass();
 			return true;
@@ -59,8 +78,16 @@ public class ModuleSourceSearchActionFactory extends SourceSearchActionFactory {
 
 	@Override
 	protected Class<?> classFromSearchResult(SearchResult result) {
+		ModuleInfo info = ((ModuleSearchResult) result).info();
+		if (resolutionService != null) {
+			final Class<?> c = resolutionService.resolve(info).delegateClass();
+			if (c == null) {
+				throw new IllegalArgumentException(
+					"Cannot load class for SearchResult " + result);
+			}
+			return c;
+		}
 		try {
-			ModuleInfo info = ((ModuleSearchResult) result).info();
 			return info.loadDelegateClass();
 		}
 		catch (ClassNotFoundException exc) {
@@ -68,4 +95,24 @@ public class ModuleSourceSearchActionFactory extends SourceSearchActionFactory {
 				result, exc);
 		}
 	}
+
+	@Override
+	protected URL sourceFromSearchResult(final SearchResult result)
+		throws SourceNotFoundException
+	{
+		if (resolutionService == null) return super.sourceFromSearchResult(result);
+		final ModuleInfo info = ((ModuleSearchResult) result).info();
+		final ModuleResolution resolution = resolutionService.resolve(info);
+		final Class<?> c = resolution.delegateClass();
+		if (c == null) return null;
+		// NB: Prefer a local source file, which works offline. It is extracted
+		// here rather than during resolution, so that only the Source action
+		// itself ever writes to disk.
+		final URL local = SourceFinder.localSourceLocation(c, log);
+		if (local != null) return local;
+		if (resolution.sourceLocation() == null) {
+			throw new SourceNotFoundException(c, null);
+		}
+		return resolution.sourceLocation();
+	}
 }
@@ -30,6 +30,7 @@
 package org.scijava.search.module;
 
 import org.scijava.Priority;
+import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
@@ -49,6 +50,9 @@ public class RunModuleSearchActionFactory implements SearchActionFactory {
 	@Parameter
 	private ModuleService moduleService;
 
+	@Parameter(required = false)
+	private FrecencyService frecencyService;
+
 	@Override
 	public boolean supports(final SearchResult result) {
 		return result instanceof ModuleSearchResult;
@@ -56,7 +60,10 @@ public class RunModuleSearchActionFactory implements SearchActionFactory {
 
 	@Override
 	public SearchAction create(final SearchResult result) {
-		return new DefaultSearchAction("Run", //
-			() -> moduleService.run(((ModuleSearchResult) result).info(), true));
+		final ModuleInfo info = ((ModuleSearchResult) result).info();
+		return new DefaultSearchAction("Run", () -> {
+			if (frecencyService != null) frecencyService.record(info);
+			moduleService.run(info, true);
+		});
 	}
 }
@@ -0,0 +1,122 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.stats;
+
+import java.lang.management.ManagementFactory;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.scijava.log.LogService;
+import org.scijava.plugin.Parameter;
+import org.scijava.plugin.Plugin;
+import org.scijava.search.Searcher;
+import org.scijava.service.AbstractService;
+import org.scijava.service.Service;
+
+/**
+ * Default implementation of {@link SearchStatsService}.
+ * <p>
+ * The statistics of each searcher are also published as a JMX MBean named
+ * {@code org.scijava.search:type=SearcherStats,context=...,name=...}, for
+ * monitoring with tools such as JConsole or VisualVM.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+@Plugin(type = Service.class)
+public class DefaultSearchStatsService extends AbstractService implements
+	SearchStatsService
+{
+
+	@Parameter
+	private LogService log;
+
+	private final Map<Class<? extends Searcher>, SearcherStats> stats =
+		new ConcurrentHashMap<>();
+
+	private final Map<Class<? extends Searcher>, ObjectName> mbeans =
+		new ConcurrentHashMap<>();
+
+	// -- SearchStatsService methods --
+
+	@Override
+	public SearcherStats stats(final Searcher searcher) {
+		return stats.computeIfAbsent(searcher.getClass(), c -> {
+			final SearcherStats s = new SearcherStats(searcher.title());
+			register(c, s);
+			return s;
+		});
+	}
+
+	@Override
+	public Map<Class<? extends Searcher>, SearcherStats> stats() {
+		return Collections.unmodifiableMap(stats);
+	}
+
+	// -- Disposable methods --
+
+	@Override
+	public void dispose() {
+		final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+		for (final ObjectName name : mbeans.values()) {
+			try {
+				server.unregisterMBean(name);
+			}
+			catch (final JMException exc) {
+				log.debug(exc);
+			}
+		}
+		mbeans.clear();
+	}
+
+	// -- Helper methods --
+
+	private void register(final Class<? extends Searcher> c,
+		final SearcherStats s)
+	{
+		try {
+			// NB: Several contexts may coexist in one JVM; keep their beans apart.
+			final ObjectName name = new ObjectName("org.scijava.search:" +
+				"type=SearcherStats,context=" + Integer.toHexString(System
+					.identityHashCode(context())) + ",name=" + ObjectName.quote(c
+						.getName()));
+			ManagementFactory.getPlatformMBeanServer().registerMBean(s, name);
+			mbeans.put(c, name);
+		}
+		catch (final JMException | RuntimeException exc) {
+			log.debug("Cannot register MBean for " + c.getName(), exc);
+		}
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.stats;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe histogram of durations, for reporting percentiles.
+ * <p>
+ * Like <a href="http://hdrhistogram.org/">HdrHistogram</a>, values are counted
+ * in buckets whose width grows with their magnitude: each power of two is
+ * split into {@value #SUB_BUCKETS} linear sub-buckets, bounding the relative
+ * error of reported values at about 6%, with a small fixed footprint and no
+ * locking when recording.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Enough buckets for every non-negative long value. */
+	private static final int BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+	private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong max = new AtomicLong();
+
+	/** Records the given value, typically a duration in nanoseconds. */
+	public void record(final long value) {
+		final long v = Math.max(0, value);
+		counts.incrementAndGet(index(v));
+		count.increment();
+		sum.add(v);
+		max.accumulateAndGet(v, Math::max);
+	}
+
+	/** Gets the number of recorded values. */
+	public long count() {
+		return count.sum();
+	}
+
+	/** Gets the mean of the recorded values, or 0 if there are none. */
+	public double mean() {
+		final long n = count();
+		return n == 0 ? 0 : (double) sum.sum() / n;
+	}
+
+	/** Gets the largest recorded value, or 0 if there are none. */
+	public long max() {
+		return max.get();
+	}
+
+	/**
+	 * Gets the value below which the given percentage of recorded values fall.
+	 *
+	 * @param percentile The percentage, between 0 and 100.
+	 * @return The (approximate) value at the given percentile, or 0 if no values
+	 *         have been recorded.
+	 */
+	public long percentile(final double percentile) {
+		final long n = count();
+		if (n == 0) return 0;
+		final double p = Math.min(100, Math.max(0, percentile));
+		final long target = Math.max(1, (long) Math.ceil(p / 100 * n));
+		long cumulative = 0;
+		for (int i = 0; i < BUCKETS; i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= target) return Math.min(upperBound(i), max());
+		}
+		return max();
+	}
+
+	/** Discards all recorded values. */
+	public void reset() {
+		for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+		count.reset();
+		sum.reset();
+		max.set(0);
+	}
+
+	// -- Helper methods --
+
+	private static int index(final long v) {
+		if (v < SUB_BUCKETS) return (int) v;
+		final int msb = 63 - Long.numberOfLeadingZeros(v);
+		final int shift = msb - SUB_BUCKET_BITS;
+		final int sub = (int) (v >>> shift) & (SUB_BUCKETS - 1);
+		return (shift + 1) * SUB_BUCKETS + sub;
+	}
+
+	private static long upperBound(final int index) {
+		if (index < SUB_BUCKETS) return index;
+		final int shift = index / SUB_BUCKETS - 1;
+		final long sub = index % SUB_BUCKETS;
+		return ((SUB_BUCKETS + sub + 1) << shift) - 1;
+	}
+}
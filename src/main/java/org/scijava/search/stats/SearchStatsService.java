@@ -0,0 +1,60 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.stats;
+
+import java.util.Map;
+
+import org.scijava.search.Searcher;
+import org.scijava.service.SciJavaService;
+
+/**
+ * Service for monitoring the latency and throughput of {@link Searcher}
+ * plugins.
+ *
+ * @author Curtis Rueden
+ */
+public interface SearchStatsService extends SciJavaService {
+
+	/**
+	 * Gets the statistics of the given searcher, creating them if needed.
+	 *
+	 * @param searcher The searcher whose statistics are desired.
+	 * @return The statistics, shared by all instances of the searcher's class.
+	 */
+	SearcherStats stats(Searcher searcher);
+
+	/** Gets the statistics of all searchers seen so far, by searcher class. */
+	Map<Class<? extends Searcher>, SearcherStats> stats();
+
+	/** Discards all statistics gathered so far. */
+	default void reset() {
+		stats().values().forEach(SearcherStats::reset);
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.stats;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import org.scijava.search.Searcher;
+
+/**
+ * Latency and throughput statistics of one {@link Searcher}.
+ * <p>
+ * All durations are recorded in nanoseconds. The <em>queue</em> time of a
+ * search is the delay between its scheduling and the start of its execution;
+ * the <em>execution</em> time is the time spent in
+ * {@link Searcher#search(String, boolean)}.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+public class SearcherStats implements SearcherStatsMBean {
+
+	private final String searcher;
+
+	private final LatencyHistogram queue = new LatencyHistogram();
+	private final LatencyHistogram execution = new LatencyHistogram();
+	private final LongAdder completed = new LongAdder();
+	private final LongAdder canceled = new LongAdder();
+	private final LongAdder errors = new LongAdder();
+	private final LongAdder results = new LongAdder();
+
+	public SearcherStats(final String searcher) {
+		this.searcher = searcher;
+	}
+
+	/** Records a search which ran to completion. */
+	public void completed(final long queueNanos, final long executionNanos,
+		final int resultCount)
+	{
+		queue.record(queueNanos);
+		execution.record(executionNanos);
+		completed.increment();
+		results.add(resultCount);
+	}
+
+	/** Records a search whose results were discarded due to a newer query. */
+	public void canceled() {
+		canceled.increment();
+	}
+
+	/** Records a search which threw an exception. */
+	public void errored(final long queueNanos, final long executionNanos) {
+		queue.record(queueNanos);
+		execution.record(executionNanos);
+		errors.increment();
+	}
+
+	/** Gets the histogram of queue times. */
+	public LatencyHistogram queue() {
+		return queue;
+	}
+
+	/** Gets the histogram of execution times. */
+	public LatencyHistogram execution() {
+		return execution;
+	}
+
+	// -- SearcherStatsMBean methods --
+
+	@Override
+	public String getSearcher() {
+		return searcher;
+	}
+
+	@Override
+	public long getCompleted() {
+		return completed.sum();
+	}
+
+	@Override
+	public long getCanceled() {
+		return canceled.sum();
+	}
+
+	@Override
+	public long getErrors() {
+		return errors.sum();
+	}
+
+	@Override
+	public long getResults() {
+		return results.sum();
+	}
+
+	@Override
+	public double getMeanExecutionMillis() {
+		return execution.mean() / 1e6;
+	}
+
+	@Override
+	public double getExecutionMillis50() {
+		return millis(execution.percentile(50));
+	}
+
+	@Override
+	public double getExecutionMillis90() {
+		return millis(execution.percentile(90));
+	}
+
+	@Override
+	public double getExecutionMillis99() {
+		return millis(execution.percentile(99));
+	}
+
+	@Override
+	public double getMaxExecutionMillis() {
+		return millis(execution.max());
+	}
+
+	@Override
+	public double getMeanQueueMillis() {
+		return queue.mean() / 1e6;
+	}
+
+	@Override
+	public double getQueueMillis99() {
+		return millis(queue.percentile(99));
+	}
+
+	@Override
+	public void reset() {
+		queue.reset();
+		execution.reset();
+		completed.reset();
+		canceled.reset();
+		errors.reset();
+		results.reset();
+	}
+
+	// -- Object methods --
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d completed, %d canceled, %d errors; " +
+			"execution p50=%.1fms p90=%.1fms p99=%.1fms max=%.1fms; " +
+			"queue p99=%.1fms", searcher, getCompleted(), getCanceled(),
+			getErrors(), getExecutionMillis50(), getExecutionMillis90(),
+			getExecutionMillis99(), getMaxExecutionMillis(), getQueueMillis99());
+	}
+
+	// -- Helper methods --
+
+	private static double millis(final long nanos) {
+		return nanos / 1e6;
+	}
+}
@@ -0,0 +1,70 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.stats;
+
+/**
+ * JMX management interface of {@link SearcherStats}.
+ *
+ * @author Curtis Rueden
+ */
+public interface SearcherStatsMBean {
+
+	/** Gets the title of the searcher. */
+	String getSearcher();
+
+	/** Gets the number of searches which completed normally. */
+	long getCompleted();
+
+	/** Gets the number of searches superseded by a newer query. */
+	long getCanceled();
+
+	/** Gets the number of searches which threw an exception. */
+	long getErrors();
+
+	/** Gets the total number of results produced. */
+	long getResults();
+
+	double getMeanExecutionMillis();
+
+	double getExecutionMillis50();
+
+	double getExecutionMillis90();
+
+	double getExecutionMillis99();
+
+	double getMaxExecutionMillis();
+
+	double getMeanQueueMillis();
+
+	double getQueueMillis99();
+
+	/** Discards all statistics gathered so far. */
+	void reset();
+}
@@ -38,13 +38,16 @@ import java.util.stream.Collectors;
 
 import org.scijava.Priority;
 import org.scijava.app.AppService;
+import org.scijava.plugin.Attr;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.search.SearchResult;
 import org.scijava.search.Searcher;
+import org.scijava.search.SearcherCost;
 import org.scijava.util.FileUtils;
 
-@Plugin(type = Searcher.class, priority = Priority.VERY_HIGH - 10)
+@Plugin(type = Searcher.class, priority = Priority.VERY_HIGH - 10, //
+	attrs = @Attr(name = SearcherCost.ATTRIBUTE, value = "disk"))
 public class TemplateSearcher implements Searcher {
 	
 	@Parameter
@@ -79,4 +82,22 @@ public class TemplateSearcher implements Searcher {
 				.map(entry -> new TemplateSearchResult(entry.getKey(), entry.getValue()))
 				.collect(Collectors.toList());
 	}
+
+	@Override
+	public boolean refines(final String previous, final String text) {
+		return !previous.isEmpty() && //
+			text.toLowerCase().startsWith(previous.toLowerCase());
+	}
+
+	@Override
+	public List<SearchResult> refine(final List<SearchResult> previous,
+		final String text, final boolean fuzzy)
+	{
+		// NB: Matching is by plain substring, so we can filter the previous
+		// results rather than scanning the template paths again.
+		final String textLower = text.toLowerCase();
+		return previous.stream() //
+			.filter(result -> result.name().toLowerCase().contains(textLower)) //
+			.collect(Collectors.toList());
+	}
 }
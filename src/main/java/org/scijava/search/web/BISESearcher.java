@@ -54,7 +54,10 @@ import org.xml.sax.SAXException;
  *
  * @author Robert Haase (MPI-CBG)
  */
-//@Plugin(type = Searcher.class, enabled = false)
+// NB: Queries a remote server, so must declare the network cost. To enable,
+// uncomment the annotation and import Attr, Plugin and SearcherCost.
+//@Plugin(type = Searcher.class, enabled = false, //
+//	attrs = @Attr(name = SearcherCost.ATTRIBUTE, value = "network"))
 public class BISESearcher implements Searcher {
 
 	private final ArrayList<SearchResult> searchResults = new ArrayList<>();
@@ -66,6 +69,11 @@ public class BISESearcher implements Searcher {
 	@Parameter
 	private LogService log;
 
+	@Override
+	public boolean blocking() {
+		return true;
+	}
+
 	@Override
 	public String title() {
 		return "BISE";
@@ -54,12 +54,15 @@ import java.util.stream.StreamSupport;
 
 import org.ocpsoft.prettytime.PrettyTime;
 import org.scijava.log.LogService;
+import org.scijava.plugin.Attr;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.Plugin;
 import org.scijava.search.SearchResult;
 import org.scijava.search.Searcher;
+import org.scijava.search.SearcherCost;
 
-@Plugin(type = Searcher.class, enabled = false)
+@Plugin(type = Searcher.class, enabled = false, //
+	attrs = @Attr(name = SearcherCost.ATTRIBUTE, value = "network"))
 public class ImageScSearcher implements Searcher {
 
 	private static String URL_PREFIX = "https://forum.image.sc/search.json?q=";
@@ -70,6 +73,11 @@ public class ImageScSearcher implements Searcher {
 	@Parameter
 	private LogService logService;
 
+	@Override
+	public boolean blocking() {
+		return true;
+	}
+
 	@Override
 	public String title() {
 		return "Image.sc Forum";
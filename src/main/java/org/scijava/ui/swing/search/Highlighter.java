@@ -0,0 +1,175 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Wraps occurrences of query terms in HTML text with highlighting tags.
+ * <p>
+ * Matching is case-insensitive, and never matches inside HTML tags or
+ * character entities. Overlapping and adjacent matches of different terms are
+ * merged, so the output never contains nested highlighting tags. Recent
+ * results are memoized, since the same text is typically highlighted
+ * repeatedly for the same query.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+class Highlighter {
+
+	/** Maximum number of memoized results. */
+	private static final int CACHE_SIZE = 64;
+
+	private final String before;
+	private final String after;
+
+	private final Map<String, String> cache = //
+		new LinkedHashMap<String, String>(16, 0.75f, true)
+		{
+
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<String, String> eldest)
+			{
+				return size() > CACHE_SIZE;
+			}
+		};
+
+	/**
+	 * @param before Markup to insert before each highlighted region.
+	 * @param after Markup to insert after each highlighted region.
+	 */
+	public Highlighter(final String before, final String after) {
+		this.before = before;
+		this.after = after;
+	}
+
+	/**
+	 * Highlights the terms of the given query within the given text.
+	 *
+	 * @param text The HTML text to highlight.
+	 * @param query The query, whose whitespace-separated terms are highlighted.
+	 * @return The highlighted HTML text.
+	 */
+	public synchronized String highlight(final String text, final String query) {
+		if (text == null || query == null || query.trim().isEmpty()) return text;
+		final String key = query + '\0' + text;
+		String result = cache.get(key);
+		if (result == null) {
+			result = compute(text, query);
+			cache.put(key, result);
+		}
+		return result;
+	}
+
+	// -- Helper methods --
+
+	private String compute(final String text, final String query) {
+		final int n = text.length();
+		final String s = lowercase(text);
+
+		final boolean[] markup = markup(text);
+		final boolean[] covered = new boolean[n];
+		boolean any = false;
+		for (final String term : lowercase(query).split("\\s+")) {
+			if (term.isEmpty()) continue;
+			final int len = term.length();
+			for (int index = s.indexOf(term); index >= 0; //
+				index = s.indexOf(term, index + 1))
+			{
+				if (overlaps(markup, index, len)) continue;
+				for (int i = index; i < index + len; i++) covered[i] = true;
+				any = true;
+			}
+		}
+		if (!any) return text;
+
+		// Emit the merged highlighted regions in a single pass.
+		final StringBuilder out = new StringBuilder(n + 16 * (before.length() +
+			after.length()));
+		boolean open = false;
+		for (int i = 0; i < n; i++) {
+			if (covered[i] != open) {
+				out.append(open ? after : before);
+				open = covered[i];
+			}
+			out.append(text.charAt(i));
+		}
+		if (open) out.append(after);
+		return out.toString();
+	}
+
+	/**
+	 * Lowercases the given string character by character, keeping indices
+	 * aligned. Unlike {@link String#toLowerCase()}, this is the same in every
+	 * locale, so the text and the query always agree.
+	 */
+	private static String lowercase(final String str) {
+		final char[] lower = new char[str.length()];
+		for (int i = 0; i < lower.length; i++) {
+			lower[i] = Character.toLowerCase(str.charAt(i));
+		}
+		return new String(lower);
+	}
+
+	/** Flags the characters which belong to HTML tags or entities. */
+	private static boolean[] markup(final String text) {
+		final boolean[] markup = new boolean[text.length()];
+		char end = 0;
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (end == 0) {
+				if (c == '<') end = '>';
+				else if (c == '&') end = ';';
+			}
+			if (end != 0) {
+				markup[i] = true;
+				if (c == end) end = 0;
+				// NB: A lone ampersand is not an entity.
+				else if (end == ';' && Character.isWhitespace(c)) {
+					markup[i] = false;
+					end = 0;
+				}
+			}
+		}
+		return markup;
+	}
+
+	private static boolean overlaps(final boolean[] markup, final int offset,
+		final int length)
+	{
+		for (int i = offset; i < offset + length; i++) {
+			if (markup[i]) return true;
+		}
+		return false;
+	}
+}
@@ -0,0 +1,190 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.imageio.ImageIO;
+import javax.swing.Icon;
+import javax.swing.ImageIcon;
+
+import org.scijava.log.LogService;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Least-recently-used cache of search result icons, scaled to the requested
+ * size.
+ * <p>
+ * Icons from the class path are loaded on first request. Icons from the web
+ * are fetched in the background: until they arrive, {@link #get} returns
+ * {@code null} so that callers can render a placeholder, and the cache's
+ * callback is invoked once the icon is available.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+class IconCache {
+
+	/** Default maximum number of icons to keep. */
+	private static final int DEFAULT_CAPACITY = 256;
+
+	private final ThreadService threadService;
+	private final LogService log;
+	private final Runnable onLoad;
+
+	/** Cached icons; an empty value marks an icon which failed to load. */
+	private final Map<String, Optional<Icon>> icons;
+
+	/** Keys of icons currently being fetched in the background. */
+	private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * @param threadService Service to use for fetching remote icons.
+	 * @param log Logger to use for any debug messages.
+	 * @param onLoad Callback invoked, from a background thread, whenever a
+	 *          remote icon becomes available.
+	 */
+	public IconCache(final ThreadService threadService, final LogService log,
+		final Runnable onLoad)
+	{
+		this(threadService, log, onLoad, DEFAULT_CAPACITY);
+	}
+
+	public IconCache(final ThreadService threadService, final LogService log,
+		final Runnable onLoad, final int capacity)
+	{
+		this.threadService = threadService;
+		this.log = log;
+		this.onLoad = onLoad;
+		icons = new LinkedHashMap<String, Optional<Icon>>(16, 0.75f, true) {
+
+			@Override
+			protected boolean removeEldestEntry(
+				final Map.Entry<String, Optional<Icon>> eldest)
+			{
+				return size() > capacity;
+			}
+		};
+	}
+
+	/**
+	 * Gets the icon at the given path, scaled to the given size.
+	 *
+	 * @param iconPath Class path resource or web URL of the icon.
+	 * @param size Width and height of the icon.
+	 * @return The icon, or null if none is available (yet).
+	 */
+	public Icon get(final String iconPath, final int size) {
+		if (size <= 0 || iconPath == null || iconPath.isEmpty()) return null;
+		final String key = size + ":" + iconPath;
+		synchronized (icons) {
+			final Optional<Icon> icon = icons.get(key);
+			if (icon != null) return icon.orElse(null);
+		}
+		if (iconPath.startsWith("http")) {
+			// NB: Never block the caller on network I/O.
+			if (pending.add(key)) {
+				threadService.run(() -> {
+					put(key, load(iconPath, size));
+					pending.remove(key);
+					onLoad.run();
+				});
+			}
+			return null;
+		}
+		final Icon icon = load(iconPath, size);
+		put(key, icon);
+		return icon;
+	}
+
+	// -- Helper methods --
+
+	private void put(final String key, final Icon icon) {
+		synchronized (icons) {
+			icons.put(key, Optional.ofNullable(icon));
+		}
+	}
+
+	private Icon load(final String iconPath, final int size) {
+		try {
+			final BufferedImage image = iconPath.startsWith("http") ? //
+				readRemote(iconPath) : readLocal(iconPath);
+			return image == null ? null : new ImageIcon(scale(image, size));
+		}
+		catch (final IOException exc) {
+			if (log.isDebug()) log.debug("Cannot load icon: " + iconPath, exc);
+			return null;
+		}
+	}
+
+	private BufferedImage readRemote(final String iconPath) throws IOException {
+		final URLConnection connection = new URL(iconPath).openConnection();
+		// NB: Hack to avoid HTTP 451 issues
+		connection.setRequestProperty("User-Agent", "Mozilla");
+		try (final InputStream in = connection.getInputStream()) {
+			return ImageIO.read(in);
+		}
+	}
+
+	private BufferedImage readLocal(final String iconPath) throws IOException {
+		final URL iconURL = getClass().getResource(iconPath);
+		return iconURL == null ? null : ImageIO.read(iconURL);
+	}
+
+	/** Renders the image once at the target size, rather than on each paint. */
+	private BufferedImage scale(final BufferedImage image, final int size) {
+		if (image.getWidth() == size && image.getHeight() == size) return image;
+		final BufferedImage scaled = //
+			new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D g = scaled.createGraphics();
+		try {
+			g.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+				RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+			g.setRenderingHint(RenderingHints.KEY_RENDERING,
+				RenderingHints.VALUE_RENDER_QUALITY);
+			g.drawImage(image, 0, 0, size, size, null);
+		}
+		finally {
+			g.dispose();
+		}
+		return scaled;
+	}
+}
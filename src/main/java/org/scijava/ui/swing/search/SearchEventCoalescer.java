@@ -0,0 +1,94 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import javax.swing.Timer;
+
+import org.scijava.search.SearchEvent;
+import org.scijava.search.SearchListener;
+
+/**
+ * {@link SearchListener} which batches search events arriving in bursts,
+ * handing them to the dispatch thread together.
+ * <p>
+ * The first event of a batch schedules delivery one frame later; any events
+ * arriving in the meantime join that batch. Hence, each event is delivered
+ * within one frame, no matter how many searchers report in the meantime.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+class SearchEventCoalescer implements SearchListener {
+
+	/** Duration in milliseconds of one frame at 60 Hz. */
+	private static final int FRAME = 16;
+
+	private final Consumer<List<SearchEvent>> consumer;
+	private final Timer timer;
+
+	/** Events awaiting delivery. Guarded by {@code this}. */
+	private List<SearchEvent> pending = new ArrayList<>();
+
+	/**
+	 * @param consumer Callback receiving each batch of events, in order of
+	 *          arrival, on the dispatch thread.
+	 */
+	public SearchEventCoalescer(final Consumer<List<SearchEvent>> consumer) {
+		this.consumer = consumer;
+		timer = new Timer(FRAME, e -> flush());
+		timer.setRepeats(false);
+	}
+
+	@Override
+	public void searchCompleted(final SearchEvent event) {
+		synchronized (this) {
+			pending.add(event);
+			// NB: Only the first event of a batch schedules its delivery.
+			if (pending.size() > 1) return;
+		}
+		timer.start();
+	}
+
+	// -- Helper methods --
+
+	private void flush() {
+		final List<SearchEvent> batch;
+		synchronized (this) {
+			if (pending.isEmpty()) return;
+			batch = pending;
+			pending = new ArrayList<>();
+		}
+		consumer.accept(batch);
+	}
+}
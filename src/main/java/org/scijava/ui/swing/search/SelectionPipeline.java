@@ -0,0 +1,111 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.scijava.log.LogService;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Computes what to display for the selected item in the background, then
+ * displays it on the dispatch thread.
+ * <p>
+ * Only the latest selection matters: when a newer item is submitted, pending
+ * work for older ones is skipped, and results computed for them are
+ * discarded. Hence, scrolling quickly through a list never stalls the dispatch
+ * thread, nor does it pile up stale work.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+class SelectionPipeline<T, R> {
+
+	private final ThreadService threadService;
+	private final LogService log;
+	private final String queue;
+	private final Function<T, R> compute;
+	private final BiConsumer<T, R> apply;
+
+	/** Incremented with each submission; identifies the latest one. */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param threadService Service to use for scheduling the work.
+	 * @param log Logger to use for any errors computing values.
+	 * @param queue Name of the background queue on which to compute values.
+	 * @param compute Function computing the value of an item, from the
+	 *          background queue.
+	 * @param apply Callback displaying an item's value, on the dispatch thread.
+	 */
+	public SelectionPipeline(final ThreadService threadService,
+		final LogService log, final String queue, final Function<T, R> compute,
+		final BiConsumer<T, R> apply)
+	{
+		this.threadService = threadService;
+		this.log = log;
+		this.queue = queue;
+		this.compute = compute;
+		this.apply = apply;
+	}
+
+	/** Computes and then displays the value of the given item. */
+	public void submit(final T item) {
+		final long g = generation.incrementAndGet();
+		threadService.queue(queue, () -> {
+			if (!isCurrent(g)) return; // superseded while waiting
+			final R value;
+			try {
+				value = compute.apply(item);
+			}
+			catch (final RuntimeException exc) {
+				log.error(exc);
+				return;
+			}
+			if (!isCurrent(g)) return; // superseded while computing
+			threadService.queue(() -> {
+				if (isCurrent(g)) apply.accept(item, value);
+			});
+		});
+	}
+
+	/** Discards any pending work, without displaying anything. */
+	public void cancel() {
+		generation.incrementAndGet();
+	}
+
+	// -- Helper methods --
+
+	private boolean isCurrent(final long g) {
+		return generation.get() == g;
+	}
+}
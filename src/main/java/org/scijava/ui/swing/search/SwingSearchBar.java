@@ -36,7 +36,6 @@ import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.GridLayout;
-import java.awt.Image;
 import java.awt.Window;
 import java.awt.event.ActionListener;
 import java.awt.event.FocusEvent;
@@ -47,21 +46,17 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseMotionAdapter;
 import java.io.IOException;
-import java.net.URL;
-import java.net.URLConnection;
+import java.io.StringReader;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.WeakHashMap;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 
-import javax.imageio.ImageIO;
+import javax.swing.AbstractListModel;
 import javax.swing.BorderFactory;
 import javax.swing.Box;
 import javax.swing.BoxLayout;
-import javax.swing.DefaultListModel;
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JCheckBox;
 import javax.swing.JDialog;
@@ -75,17 +70,21 @@ import javax.swing.JTextArea;
 import javax.swing.JTextField;
 import javax.swing.JTextPane;
 import javax.swing.JToolBar;
+import javax.swing.ListCellRenderer;
 import javax.swing.ScrollPaneConstants;
 import javax.swing.SwingUtilities;
 import javax.swing.UIManager;
 import javax.swing.border.EmptyBorder;
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
+import javax.swing.text.BadLocationException;
 import javax.swing.text.html.HTMLDocument;
+import javax.swing.text.html.HTMLEditorKit;
 
 import net.miginfocom.swing.MigLayout;
 
 import org.scijava.Context;
+import org.scijava.log.LogService;
 import org.scijava.plugin.Parameter;
 import org.scijava.plugin.PluginService;
 import org.scijava.search.SearchAction;
@@ -110,6 +109,7 @@ public class SwingSearchBar extends JTextField {
 	private static final Color SELECTED_RESULT_COLOR = new Color(186, 218, 255);
 	private static final String CONTEXT_COLOR = "#8C745E";
 	private static final int PAD = 5;
+	private static final String DETAILS_QUEUE = "scijava-search-details";
 
 	private final DocumentListener documentListener;
 	private final JToolBar buttons;
@@ -120,6 +120,12 @@ public class SwingSearchBar extends JTextField {
 	@Parameter
 	private PluginService pluginService;
 
+	@Parameter
+	private LogService log;
+
+	/** Cache of search result icons, shared across search panels. */
+	private final IconCache iconCache;
+
 	/** Currently active search panel. */
 	private SwingSearchPanel searchPanel;
 
@@ -181,6 +187,12 @@ public class SwingSearchBar extends JTextField {
 
 		buttons = new JToolBar();
 		buttons.setFloatable(false);
+
+		// NB: Repaint the results once each remote icon arrives.
+		iconCache = new IconCache(threadService, log, () -> threadService.queue(
+			() -> {
+				if (searchPanel != null) searchPanel.repaint();
+			}));
 	}
 
 	/** Called externally to bring the search bar into focus. */
@@ -334,10 +346,25 @@ public class SwingSearchBar extends JTextField {
 	private class SwingSearchPanel extends JPanel {
 
 		private final SearchOperation operation;
-		private final Map<Class<?>, SearchEvent> allResults;
-		private final Map<Class<?>, JCheckBox> headerCheckboxes;
+		private final SearchResultListModel listModel;
+		private final Highlighter underliner = new Highlighter("<u>", "</u>");
+		private final Highlighter emboldener = new Highlighter("<b>", "</b>");
 		private final JList<SearchResult> resultsList;
 
+		private final JPanel detailsPane = new JPanel();
+		private final JLabel detailsTitle = new JLabel();
+		private final JPanel detailsProps = new JPanel();
+		private final JPanel detailsButtons = new JPanel();
+
+		/** Style rule applied to HTML descriptions in the details pane. */
+		private final String bodyRule;
+
+		/** Populates the details pane for the selected result. */
+		private final SelectionPipeline<Selection, Details> detailsPipeline;
+
+		/** Details currently displayed, or null if none. */
+		private Details details;
+
 		@Parameter
 		private SearchService searchService;
 
@@ -347,60 +374,17 @@ public class SwingSearchBar extends JTextField {
 			setPreferredSize(new Dimension(800, 300));
 			setBorder(BorderFactory.createEmptyBorder());
 
+			// NB: Apply results arriving in bursts in one go, once per frame.
 			operation = searchService.search(//
-				event -> threadService.queue(() -> update(event)));
-
-			allResults = new HashMap<>();
-			headerCheckboxes = new HashMap<>();
-
-			resultsList = new JList<>();
-			resultsList.setCellRenderer((list, value, index, isSelected,
-				cellHasFocus) -> {
-				if (isHeader(value)) {
-					final Searcher searcher = ((SearchResultHeader) value).searcher();
+				new SearchEventCoalescer(this::update));
 
-					final Container parent = getParent();
-
-					String resultSizeStr = "";
-					final int resCount = ((SearchResultHeader) value).resultCount();
-					if(resCount > resultLimit) {
-						resultSizeStr += " <span style='color: " + CONTEXT_COLOR + ";'>(" + resultLimit + "/" + resCount + ")";
-					}
+			listModel = new SearchResultListModel();
 
-					final JCheckBox headerBox = //
-						new JCheckBox("<html>" + searcher.title() + resultSizeStr, searchService.enabled(searcher));
-					headerBox.setFont(smaller(headerBox.getFont(), 2));
-					if (parent != null) headerBox.setBackground(parent.getBackground());
-					headerCheckboxes.put(searcher.getClass(), headerBox);
-
-					final JPanel headerInnerPane = new JPanel();
-					headerInnerPane.setLayout(new GridLayout(1, 1));
-					headerInnerPane.add(headerBox);
-					if (parent != null) headerInnerPane.setBackground(parent
-						.getBackground());
-
-					final JPanel headerOuterPane = new JPanel();
-					headerOuterPane.setLayout(new GridLayout(1, 1));
-					headerOuterPane.add(headerInnerPane);
-					headerOuterPane.setBackground(list.getBackground());
-					headerOuterPane.setBorder(new EmptyBorder(index == 0 ? 0 : PAD, 0, 0,
-						0));
-					return headerOuterPane;
-				}
-				final JPanel item = new JPanel();
-				item.setLayout(new BoxLayout(item, BoxLayout.X_AXIS));
-				item.setBorder(new EmptyBorder(1, PAD, 0, PAD));
-				item.add(icon(value.iconPath()));
-				item.add(Box.createHorizontalStrut(3));
-				final JLabel name = new JLabel();
-				Font f = name.getFont();
-				name.setFont(f.deriveFont(f.getStyle() & ~Font.BOLD));
-				name.setText("<html>" + value.identifier() + "&nbsp;&nbsp;<span style='color: " + CONTEXT_COLOR + ";'>" + value.context() + "</span>");
-				name.setBackground(null);
-				item.add(name);
-				item.setBackground(isSelected ? SELECTED_RESULT_COLOR : list.getBackground());
-				return item;
-			});
+			resultsList = new JList<>(listModel);
+			// NB: No fixed cell height: headers are padded to set off each
+			// category, and results must not be padded likewise. The list measures
+			// each row anyway, to find its widest one.
+			resultsList.setCellRenderer(new SearchResultRenderer());
 			resultsList.setBorder(new EmptyBorder(0, 0, 0, 0));
 			final JScrollPane resultsPane = new JScrollPane(resultsList);
 			resultsPane.setHorizontalScrollBarPolicy(
@@ -411,11 +395,16 @@ public class SwingSearchBar extends JTextField {
 //			resultsPane.setComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
 			resultsPane.setBorder(null);
 
-			final JPanel detailsPane = new JPanel();
-			final JLabel detailsTitle = new JLabel();
-			final JPanel detailsProps = new JPanel();
 			final JScrollPane detailsScrollPane = new JScrollPane(detailsProps);
-			final JPanel detailsButtons = new JPanel();
+
+			final Font font = UIManager.getFont("Label.font");
+			bodyRule = "body { font-family: " + font.getFamily() + "; " +
+				"font-size: " + font.getSize() + "pt; }";
+
+			// NB: Properties and actions can be slow to compute, e.g. when they
+			// involve class loading. Compute them off the dispatch thread.
+			detailsPipeline = new SelectionPipeline<>(threadService, log,
+				DETAILS_QUEUE, this::details, (selection, d) -> showDetails(d));
 
 			detailsScrollPane.setHorizontalScrollBarPolicy(
 				ScrollPaneConstants.HORIZONTAL_SCROLLBAR_NEVER);
@@ -474,75 +463,13 @@ public class SwingSearchBar extends JTextField {
 					return;
 				}
 				if (result == null) {
-					// clear details pane
-					detailsTitle.setText("");
-					detailsProps.removeAll();
-					detailsButtons.removeAll();
-					detailsPane.validate();
-					detailsPane.repaint();
+					detailsPipeline.cancel();
+					showDetails(null);
 					return;
 				}
-				// populate details pane
-				detailsTitle.setText("<html><h2>" + highlightSearchUnderline(
-					escapeHtml(result.name()), searchText) + "</h2>");
-				detailsProps.removeAll();
-				result.properties().forEach((k, v) -> {
-					if (v == "") return;
-					if (k == null) {
-						final JTextPane textPane = new JTextPane();
-						textPane.setContentType("text/html");
-						textPane.setText(highlightSearchBold(v, searchText));
-						final Font font = UIManager.getFont("Label.font");
-						final String bodyRule = "body { font-family: " + //
-							font.getFamily() + "; " + "font-size: " + font.getSize() +
-							"pt; }";
-						((HTMLDocument) textPane.getDocument()).getStyleSheet().addRule(
-							bodyRule);
-						textPane.setBorder(BorderFactory.createCompoundBorder(
-							BorderFactory.createMatteBorder(1, 0, 1, 0, Color.DARK_GRAY),
-							BorderFactory.createEmptyBorder(PAD, 0, PAD, 0)));
-						textPane.setEditable(false);
-						textPane.setOpaque(false);
-						detailsProps.add(textPane, "growx, wmax 100%");
-					}
-					else {
-						final JLabel keyLabel = new JLabel("<html>" +
-							"<strong style=\"color: gray;\">" + k +
-							"&nbsp;&nbsp;</strong>");
-						keyLabel.setFont(smaller(keyLabel.getFont(), 1));
-						detailsProps.add(keyLabel, "growx, pad 0 0 10 0");
-						final JTextArea valueField = new JTextArea();
-						valueField.setText(v);
-						valueField.setLineWrap(true);
-						valueField.setWrapStyleWord(true);
-						valueField.setEditable(false);
-						valueField.setBackground(null);
-						valueField.setBorder(null);
-						detailsProps.add(valueField, "growx, wmax 100%");
-					}
-				});
-				detailsButtons.removeAll();
-				final List<SearchAction> actions = searchService.actions(result);
-				boolean first = true;
-				for (final SearchAction action : actions) {
-					final JButton button = new JButton(action.toString());
-					final boolean isDefault = first;
-					button.addActionListener(ae -> runAction(action, isDefault));
-					button.addKeyListener(new SearchBarKeyAdapter());
-					if (first) {
-						detailsButtons.add(button, "grow, spanx");
-						final JRootPane rootPane = this.getRootPane();
-						if (rootPane != null) {
-							rootPane.setDefaultButton(button);
-						}
-						first = false;
-					}
-					else {
-						detailsButtons.add(button, "growx");
-					}
-				}
-				detailsPane.validate();
-				detailsPane.repaint();
+				// NB: Capture the query here, on the dispatch thread, where it
+				// changes; the details are computed on another thread.
+				detailsPipeline.submit(new Selection(result, searchText));
 			});
 
 			detailsPane.add(buttons, "pos n 0 100% n");
@@ -572,12 +499,15 @@ public class SwingSearchBar extends JTextField {
 
 		// -- Helper methods --
 
-		/** Called whenever a new batch of search results comes in. */
-		private void update(final SearchEvent event) {
+		/** Called whenever new batches of search results come in. */
+		private void update(final List<SearchEvent> events) {
 			assertDispatchThread();
-			if (event.exclusive()) allResults.clear();
-			allResults.put(event.searcher().getClass(), event);
-			rebuild();
+			final SearchResult previous = resultsList.getSelectedValue();
+			for (final SearchEvent event : events) {
+				if (event.exclusive()) listModel.clear();
+				listModel.put(event.searcher(), event.results(), resultLimit);
+			}
+			reselect(previous);
 		}
 
 		private void up() {
@@ -633,93 +563,127 @@ public class SwingSearchBar extends JTextField {
 			}
 			else result = selectedResult;
 
-			final List<SearchAction> actions = searchService.actions(result);
+			// NB: Reuse the actions of the details pane, if already computed.
+			final List<SearchAction> actions = details != null &&
+				details.result == result ? details.actions : //
+					searchService.actions(result);
 			if (actions.isEmpty()) return;
 			runAction(actions.get(0), true);
 		}
 
-		private void rebuild() {
-			assertDispatchThread();
-
-			final SearchResult previous = resultsList.getSelectedValue();
-
-			// Gets list of Searchers, sorted by priority.
-			final List<Searcher> searchers = allResults.values().stream().map(
-				event -> event.searcher()).collect(Collectors.toList());
-			pluginService.sort(searchers, Searcher.class);
-
-			// Build the new list model.
-			final DefaultListModel<SearchResult> listModel = new DefaultListModel<>();
-			for (final Searcher searcher : searchers) {
-				// Look up the results list.
-				final List<SearchResult> completeResults = //
-					allResults.get(searcher.getClass()).results();
-
-				if (completeResults == null) continue;
-
-				int resultCount = completeResults.size();
-
-				// Add section header.
-				listModel.addElement(new SearchResultHeader(searcher, resultCount));
-
-				if (completeResults.isEmpty()) continue;
+		/** Computes the details of the given result, off the dispatch thread. */
+		private Details details(final Selection selection) {
+			final SearchResult result = selection.result;
+			final String query = selection.query;
+			final Details d = new Details(result);
+			d.title = "<html><h2>" + underliner.highlight(escapeHtml(result
+				.name()), query) + "</h2>";
+			result.properties().forEach((k, v) -> {
+				if (v == "") return;
+				d.properties.add(new Property(k, v, k == null ? //
+					description(emboldener.highlight(v, query)) : null));
+			});
+			d.actions = searchService.actions(result);
+			return d;
+		}
 
-				// Limit to the top matches only.
-				final List<SearchResult> results = completeResults.stream() //
-					.limit(resultLimit).collect(Collectors.toList());
+		/** Parses an HTML description into a document, ready for display. */
+		private HTMLDocument description(final String html) {
+			final HTMLEditorKit kit = new HTMLEditorKit();
+			final HTMLDocument doc = (HTMLDocument) kit.createDefaultDocument();
+			doc.getStyleSheet().addRule(bodyRule);
+			try {
+				kit.read(new StringReader(html), doc, 0);
+			}
+			catch (final IOException | BadLocationException exc) {
+				log.debug(exc);
+			}
+			return doc;
+		}
 
-				// Add results as entries.
-				for (final SearchResult result : results) {
-					listModel.addElement(result);
-				}
+		/** Populates the details pane, or clears it if null. */
+		private void showDetails(final Details d) {
+			assertDispatchThread();
+			details = d;
+			detailsTitle.setText(d == null ? "" : d.title);
+			detailsProps.removeAll();
+			detailsButtons.removeAll();
+			if (d != null) {
+				d.properties.forEach(this::addProperty);
+				addButtons(d.actions);
 			}
+			detailsPane.validate();
+			detailsPane.repaint();
+		}
 
-			resultsList.setModel(listModel);
+		private void addProperty(final Property p) {
+			if (p.key == null) {
+				final JTextPane textPane = new JTextPane();
+				textPane.setContentType("text/html");
+				textPane.setDocument(p.document);
+				textPane.setBorder(BorderFactory.createCompoundBorder(
+					BorderFactory.createMatteBorder(1, 0, 1, 0, Color.DARK_GRAY),
+					BorderFactory.createEmptyBorder(PAD, 0, PAD, 0)));
+				textPane.setEditable(false);
+				textPane.setOpaque(false);
+				detailsProps.add(textPane, "growx, wmax 100%");
+			}
+			else {
+				final JLabel keyLabel = new JLabel("<html>" +
+					"<strong style=\"color: gray;\">" + p.key +
+					"&nbsp;&nbsp;</strong>");
+				keyLabel.setFont(smaller(keyLabel.getFont(), 1));
+				detailsProps.add(keyLabel, "growx, pad 0 0 10 0");
+				final JTextArea valueField = new JTextArea();
+				valueField.setText(p.value);
+				valueField.setLineWrap(true);
+				valueField.setWrapStyleWord(true);
+				valueField.setEditable(false);
+				valueField.setBackground(null);
+				valueField.setBorder(null);
+				detailsProps.add(valueField, "growx, wmax 100%");
+			}
+		}
 
-			// TODO: Improve retainment of previous selection.
-			if (!searchText.isEmpty()) {
-				if (previous == null) {
-					if (listModel.getSize() > 0) {
-						resultsList.setSelectedIndex(firstResultIndex());
+		private void addButtons(final List<SearchAction> actions) {
+			boolean first = true;
+			for (final SearchAction action : actions) {
+				final JButton button = new JButton(action.toString());
+				final boolean isDefault = first;
+				button.addActionListener(ae -> runAction(action, isDefault));
+				button.addKeyListener(new SearchBarKeyAdapter());
+				if (first) {
+					detailsButtons.add(button, "grow, spanx");
+					final JRootPane rootPane = this.getRootPane();
+					if (rootPane != null) {
+						rootPane.setDefaultButton(button);
 					}
+					first = false;
 				}
 				else {
-					if (listModel.contains(previous)) {
-						resultsList.setSelectedValue(previous, true);
-					}
+					detailsButtons.add(button, "growx");
 				}
 			}
 		}
 
-		private Component icon(final String iconPath) {
-			if (iconSize == 0 || iconPath == null || iconPath.isEmpty()) return emptyIcon();
-			if (iconPath.startsWith("http")) {
-				try {
-					URL url = new URL(iconPath);
-					URLConnection connection = url.openConnection();
-					// NB: Hack to avoid HTTP 451 issues
-					connection.setRequestProperty("User-Agent", "Mozilla");
-					return new JLabel(new ImageIcon(ImageIO.read(connection.getInputStream())));
-				}
-				catch (IOException exc) {
-					return emptyIcon();
+		/** Restores the selection after the list model has changed. */
+		private void reselect(final SearchResult previous) {
+			assertDispatchThread();
+			if (searchText.isEmpty()) return;
+			final int index = previous == null ? -1 : listModel.indexOf(previous);
+			if (index >= 0) {
+				if (resultsList.getSelectedIndex() != index) {
+					resultsList.setSelectedIndex(index);
+					resultsList.ensureIndexIsVisible(index);
 				}
+				return;
 			}
-			final URL iconURL = getClass().getResource(iconPath);
-			if (iconURL == null) return emptyIcon();
-			ImageIcon icon = new ImageIcon(iconURL);
-			if (icon.getIconWidth() != iconSize || //
-				icon.getIconHeight() != iconSize)
-			{
-				// Resize icon to the needed size.
-				icon = new ImageIcon(icon.getImage().getScaledInstance(
-					iconSize, iconSize, Image.SCALE_SMOOTH));
-			}
-			return new JLabel(icon);
-		}
-
-		private Component emptyIcon() {
-			return Box.createRigidArea(new Dimension(iconSize, iconSize));
+			// NB: The selected result is gone; fall back to the first result.
+			// Clearing first ensures listeners hear about the change even when
+			// the first result now occupies the previously selected index.
+			if (previous != null) resultsList.clearSelection();
+			final int firstResultIndex = firstResultIndex();
+			if (firstResultIndex >= 0) resultsList.setSelectedIndex(firstResultIndex);
 		}
 
 		private boolean isHeader(final SearchResult value) {
@@ -753,40 +717,6 @@ public class SwingSearchBar extends JTextField {
 			return true;
 		}
 
-		private String highlightSearchUnderline(final String text,
-			final String search)
-		{
-			return highlightSearch(text, search, "<u>", "</u>");
-		}
-
-		private String highlightSearchBold(final String text, final String search) {
-			return highlightSearch(text, search, "<b>", "</b>");
-		}
-
-		private String highlightSearch(final String text, final String search,
-			final String before, final String after)
-		{
-			final String[] terms = search.split(" ");
-			String output = text;
-			for (final String term : terms) {
-				final List<Integer> res = new ArrayList<>();
-				final String s = output.toLowerCase();
-				for (int index = s.indexOf(term); //
-						index >= 0 && index < s.length(); //
-						index = s.indexOf(term, index + 1)) //
-				{
-					res.add(index);
-				}
-				for (int i = res.size() - 1; i >= 0; i--) {
-					final int index = res.get(i);
-					output = output.substring(0, index) + before + output.substring(index,
-						index + term.length()) + after + output.substring(index + term
-							.length(), output.length());
-				}
-			}
-			return output;
-		}
-
 		private String escapeHtml(final String s) {
 			final StringBuilder out = new StringBuilder(Math.max(16, s.length()));
 			for (int i = 0; i < s.length(); i++) {
@@ -802,6 +732,271 @@ public class SwingSearchBar extends JTextField {
 			}
 			return out.toString();
 		}
+
+		/**
+		 * Renders search results and category headers. The same few components
+		 * are reused for every cell, and the HTML label of each result is built
+		 * only once.
+		 */
+		private class SearchResultRenderer implements
+			ListCellRenderer<SearchResult>
+		{
+
+			private final JCheckBox headerBox = new JCheckBox();
+			private final JPanel headerInnerPane = //
+				new JPanel(new GridLayout(1, 1));
+			private final JPanel headerOuterPane = //
+				new JPanel(new GridLayout(1, 1));
+			private final EmptyBorder firstHeaderBorder = //
+				new EmptyBorder(0, 0, 0, 0);
+			private final EmptyBorder headerBorder = new EmptyBorder(PAD, 0, 0, 0);
+
+			private final JPanel item = new JPanel();
+			private final JLabel iconLabel = new JLabel();
+			private final JLabel nameLabel = new JLabel();
+
+			/** HTML labels of already rendered results and headers. */
+			private final Map<SearchResult, String> labels = new WeakHashMap<>();
+
+			public SearchResultRenderer() {
+				headerBox.setFont(smaller(headerBox.getFont(), 2));
+				headerInnerPane.add(headerBox);
+				headerOuterPane.add(headerInnerPane);
+
+				item.setLayout(new BoxLayout(item, BoxLayout.X_AXIS));
+				item.setBorder(new EmptyBorder(1, PAD, 0, PAD));
+				// NB: Results without an icon (yet) render as blank space.
+				final Dimension iconDims = new Dimension(iconSize, iconSize);
+				iconLabel.setMinimumSize(iconDims);
+				iconLabel.setPreferredSize(iconDims);
+				iconLabel.setMaximumSize(iconDims);
+				item.add(iconLabel);
+				item.add(Box.createHorizontalStrut(3));
+				final Font f = nameLabel.getFont();
+				nameLabel.setFont(f.deriveFont(f.getStyle() & ~Font.BOLD));
+				nameLabel.setBackground(null);
+				item.add(nameLabel);
+			}
+
+			@Override
+			public Component getListCellRendererComponent(
+				final JList<? extends SearchResult> list, final SearchResult value,
+				final int index, final boolean isSelected, final boolean cellHasFocus)
+			{
+				if (value instanceof SearchResultHeader) {
+					final SearchResultHeader header = (SearchResultHeader) value;
+					final Searcher searcher = header.searcher();
+					headerBox.setText(labels.computeIfAbsent(header, //
+						h -> headerLabel((SearchResultHeader) h)));
+					headerBox.setSelected(searchService.enabled(searcher));
+					final Container parent = getParent();
+					if (parent != null) {
+						headerBox.setBackground(parent.getBackground());
+						headerInnerPane.setBackground(parent.getBackground());
+					}
+					headerOuterPane.setBackground(list.getBackground());
+					headerOuterPane.setBorder(index == 0 ? firstHeaderBorder
+						: headerBorder);
+					return headerOuterPane;
+				}
+				if (value == null) return item;
+				iconLabel.setIcon(iconCache.get(value.iconPath(), iconSize));
+				nameLabel.setText(labels.computeIfAbsent(value, this::resultLabel));
+				item.setBackground(isSelected ? SELECTED_RESULT_COLOR : list
+					.getBackground());
+				return item;
+			}
+
+			private String headerLabel(final SearchResultHeader header) {
+				final StringBuilder sb = new StringBuilder();
+				sb.append("<html>").append(header.searcher().title());
+				final int resCount = header.resultCount();
+				if (resCount > resultLimit) {
+					sb.append(" <span style='color: ").append(CONTEXT_COLOR);
+					sb.append(";'>(").append(resultLimit).append("/");
+					sb.append(resCount).append(")");
+				}
+				return sb.toString();
+			}
+
+			private String resultLabel(final SearchResult result) {
+				return "<html>" + result.identifier() +
+					"&nbsp;&nbsp;<span style='color: " + CONTEXT_COLOR + ";'>" + //
+					result.context() + "</span>";
+			}
+		}
+	}
+
+	/**
+	 * List model of search results, segmented by searcher. Each segment holds
+	 * the header and top results of one searcher, and is replaced in place as
+	 * new results arrive, firing events for the affected rows only.
+	 */
+	private class SearchResultListModel extends AbstractListModel<SearchResult> {
+
+		/** Rows of each searcher, ordered by searcher priority. */
+		private final List<Segment> segments = new ArrayList<>();
+
+		/** Total number of rows across all segments. */
+		private int size;
+
+		@Override
+		public int getSize() {
+			return size;
+		}
+
+		@Override
+		public SearchResult getElementAt(final int index) {
+			int offset = index;
+			for (final Segment segment : segments) {
+				if (offset < segment.rows.size()) return segment.rows.get(offset);
+				offset -= segment.rows.size();
+			}
+			throw new IndexOutOfBoundsException("" + index);
+		}
+
+		/** Gets the index of the given result, compared by identity. */
+		public int indexOf(final SearchResult result) {
+			int offset = 0;
+			for (final Segment segment : segments) {
+				for (int i = 0; i < segment.rows.size(); i++) {
+					if (segment.rows.get(i) == result) return offset + i;
+				}
+				offset += segment.rows.size();
+			}
+			return -1;
+		}
+
+		/** Removes all rows. */
+		public void clear() {
+			if (size == 0) return;
+			final int last = size - 1;
+			segments.clear();
+			size = 0;
+			fireIntervalRemoved(this, 0, last);
+		}
+
+		/**
+		 * Replaces the rows of the given searcher.
+		 *
+		 * @param searcher The searcher whose results are being reported.
+		 * @param results The results, or null if the searcher does not support
+		 *          the query, in which case its segment is removed entirely.
+		 * @param limit The maximum number of results to show.
+		 */
+		public void put(final Searcher searcher, final List<SearchResult> results,
+			final int limit)
+		{
+			final List<SearchResult> rows = new ArrayList<>();
+			if (results != null) {
+				rows.add(new SearchResultHeader(searcher, results.size()));
+				for (int i = 0; i < results.size() && i < limit; i++) {
+					rows.add(results.get(i));
+				}
+			}
+
+			// Find the searcher's segment, if it has one already.
+			int offset = 0;
+			int s = 0;
+			while (s < segments.size() && //
+				segments.get(s).searcher.getClass() != searcher.getClass())
+			{
+				offset += segments.get(s++).rows.size();
+			}
+
+			if (s == segments.size()) {
+				// New segment.
+				if (rows.isEmpty()) return;
+				final Segment segment = new Segment(searcher, rows);
+				s = insertionIndex(searcher);
+				offset = 0;
+				for (int i = 0; i < s; i++) offset += segments.get(i).rows.size();
+				segments.add(s, segment);
+				size += rows.size();
+				fireIntervalAdded(this, offset, offset + rows.size() - 1);
+				return;
+			}
+
+			// Existing segment.
+			final Segment segment = segments.get(s);
+			final int oldCount = segment.rows.size();
+			final int newCount = rows.size();
+			if (newCount == 0) segments.remove(s);
+			else segments.set(s, new Segment(searcher, rows));
+			size += newCount - oldCount;
+			final int common = Math.min(oldCount, newCount);
+			if (common > 0) fireContentsChanged(this, offset, offset + common - 1);
+			if (newCount > oldCount) {
+				fireIntervalAdded(this, offset + oldCount, offset + newCount - 1);
+			}
+			else if (newCount < oldCount) {
+				fireIntervalRemoved(this, offset + newCount, offset + oldCount - 1);
+			}
+		}
+
+		/** Gets the position of a new segment, according to plugin priority. */
+		private int insertionIndex(final Searcher searcher) {
+			final List<Searcher> searchers = new ArrayList<>();
+			for (final Segment segment : segments) searchers.add(segment.searcher);
+			searchers.add(searcher);
+			pluginService.sort(searchers, Searcher.class);
+			return searchers.indexOf(searcher);
+		}
+	}
+
+	/** The rows of one searcher in the {@link SearchResultListModel}. */
+	private static class Segment {
+
+		private final Searcher searcher;
+		private final List<SearchResult> rows;
+
+		public Segment(final Searcher searcher, final List<SearchResult> rows) {
+			this.searcher = searcher;
+			this.rows = rows;
+		}
+	}
+
+	/** A selected search result, with the query at the time it was selected. */
+	private static class Selection {
+
+		private final SearchResult result;
+		private final String query;
+
+		public Selection(final SearchResult result, final String query) {
+			this.result = result;
+			this.query = query;
+		}
+	}
+
+	/** Everything the details pane displays about one search result. */
+	private static class Details {
+
+		private final SearchResult result;
+		private final List<Property> properties = new ArrayList<>();
+		private String title;
+		private List<SearchAction> actions;
+
+		public Details(final SearchResult result) {
+			this.result = result;
+		}
+	}
+
+	/** One property of a search result, as shown in the details pane. */
+	private static class Property {
+
+		private final String key;
+		private final String value;
+
+		/** Parsed value of the description, i.e. the property without a key. */
+		private final HTMLDocument document;
+
+		public Property(final String key, final String value,
+			final HTMLDocument document)
+		{
+			this.key = key;
+			this.value = value;
+			this.document = document;
+		}
 	}
 
 	private class SearchBarKeyAdapter extends KeyAdapter {
@@ -0,0 +1,160 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Random;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.scijava.MenuPath;
+import org.scijava.command.CommandInfo;
+import org.scijava.module.ModuleInfo;
+import org.scijava.search.module.TestCommand;
+
+/**
+ * Synthetic corpora for benchmarking the search pipeline.
+ *
+ * @author Curtis Rueden
+ */
+public final class SearchCorpus {
+
+	private static final String[] MENUS = { "File", "Edit", "Image", "Process",
+		"Analyze", "Plugins", "Window", "Help" };
+
+	private static final String[] SUBMENUS = { "Adjust", "Binary", "Filters",
+		"Math", "Noise", "Shadows", "Stacks", "Transform", "Segmentation",
+		"Tracking", "Registration", "Deconvolution", "Import", "Export",
+		"Lookup Tables", "Color", "Type", "Tools", "Utilities", "Macros" };
+
+	private static final String[] VERBS = { "Apply", "Auto", "Convert",
+		"Create", "Detect", "Enhance", "Estimate", "Extract", "Find", "Fit",
+		"Measure", "Merge", "Open", "Project", "Remove", "Save", "Set", "Split",
+		"Subtract", "Threshold" };
+
+	private static final String[] NOUNS = { "Background", "Blur", "Channels",
+		"Contrast", "Edges", "Gaussian", "Histogram", "Labels", "Maxima", "Mask",
+		"Median", "Outliers", "Particles", "Peaks", "ROIs", "Scale", "Skeleton",
+		"Slices", "Spots", "Watershed" };
+
+	/** Maximum number of distinct classes to load for the class corpus. */
+	private static final int MAX_CLASSES = 5000;
+
+	private SearchCorpus() {
+		// NB: Prevent instantiation of utility class.
+	}
+
+	/**
+	 * Generates modules with plausible titles and menu paths, such as
+	 * {@code Process > Filters > Enhance Gaussian Edges 42}.
+	 *
+	 * @param count Number of modules to generate.
+	 * @return The modules, all backed by {@link TestCommand}.
+	 */
+	public static List<ModuleInfo> modules(final int count) {
+		final Random r = new Random(0xdecafbad);
+		final List<ModuleInfo> modules = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			final String title = pick(r, VERBS) + " " + pick(r, NOUNS) + " " +
+				pick(r, NOUNS) + " " + i;
+			final String menu = pick(r, MENUS) + ">" + pick(r, SUBMENUS) + ">" +
+				title;
+			final ModuleInfo info = new CommandInfo(TestCommand.class.getName());
+			info.setLabel(title);
+			info.setMenuPath(new MenuPath(menu));
+			modules.add(info);
+		}
+		return modules;
+	}
+
+	/**
+	 * Gets real classes from the class path, repeated as needed to reach the
+	 * desired count.
+	 *
+	 * @param count Number of classes to return.
+	 * @return The classes, in a deterministic order.
+	 */
+	public static List<Class<?>> classes(final int count) {
+		final List<Class<?>> distinct = loadClasses();
+		final List<Class<?>> classes = new ArrayList<>(count);
+		for (int i = 0; i < count && !distinct.isEmpty(); i++) {
+			classes.add(distinct.get(i % distinct.size()));
+		}
+		return classes;
+	}
+
+	/** Gets some queries typical of a user typing command names. */
+	public static List<String> queries() {
+		final List<String> queries = new ArrayList<>();
+		Collections.addAll(queries, "g", "ga", "gau", "gaus", "gauss", "blur",
+			"gauss blur", "threshold", "median fi", "process", "roi", "xyz");
+		return queries;
+	}
+
+	// -- Helper methods --
+
+	private static String pick(final Random r, final String[] words) {
+		return words[r.nextInt(words.length)];
+	}
+
+	private static List<Class<?>> loadClasses() {
+		final List<Class<?>> classes = new ArrayList<>();
+		final ClassLoader loader = SearchCorpus.class.getClassLoader();
+		final String classPath = System.getProperty("java.class.path");
+		for (final String path : classPath.split(File.pathSeparator)) {
+			if (!path.endsWith(".jar")) continue;
+			try (final JarFile jar = new JarFile(path)) {
+				final Enumeration<JarEntry> entries = jar.entries();
+				while (entries.hasMoreElements()) {
+					if (classes.size() >= MAX_CLASSES) return classes;
+					final String name = entries.nextElement().getName();
+					if (!name.endsWith(".class") || name.contains("-")) continue;
+					final String className = name.substring(0, name.length() - 6)
+						.replace('/', '.');
+					try {
+						classes.add(Class.forName(className, false, loader));
+					}
+					catch (final ClassNotFoundException | LinkageError exc) {
+						// NB: Skip classes with unavailable dependencies.
+					}
+				}
+			}
+			catch (final IOException exc) {
+				// NB: Skip unreadable JAR files.
+			}
+		}
+		return classes;
+	}
+}
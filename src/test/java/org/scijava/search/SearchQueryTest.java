@@ -0,0 +1,167 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link SearchQuery}.
+ *
+ * @author Curtis Rueden
+ */
+public class SearchQueryTest {
+
+	@Test
+	public void testParse() {
+		final SearchQuery query = SearchQuery.parse(
+			"menu:Process \"gaussian blur\" -median -cat:web https://imagej.net");
+		assertEquals(Arrays.asList("menu:Process", "\"gaussian blur\"",
+			"-median", "-cat:web", "https://imagej.net"), strings(query));
+		assertEquals("gaussian blur https://imagej.net", query.terms());
+		assertFalse(query.isPlain());
+		assertEquals("Process", query.clauses("menu").get(0).value());
+		assertEquals(menuPath("Process>Filters"), //
+			strings(SearchQuery.parse("MENU:\"Process>Filters\"")));
+	}
+
+	@Test
+	public void testPlain() {
+		final SearchQuery query = SearchQuery.parse("gauss  blur x-ray menu:");
+		assertTrue(query.isPlain());
+		assertEquals("gauss  blur x-ray menu:", query.text());
+		assertEquals("gauss blur x-ray menu:", query.terms());
+		assertTrue(SearchQuery.parse("").isPlain());
+		assertTrue(SearchQuery.literal("#!python -x").isPlain());
+	}
+
+	@Test
+	public void testAdmits() {
+		final Searcher commands = new TestSearcher("Commands", "menu");
+		final Searcher web = new TestSearcher("Web");
+		assertTrue(SearchQuery.parse("blur -median").admits(web));
+		assertTrue(SearchQuery.parse("cat:comm blur").admits(commands));
+		assertFalse(SearchQuery.parse("cat:comm blur").admits(web));
+		assertFalse(SearchQuery.parse("-cat:web blur").admits(web));
+		// Only searchers evaluating a required field are invoked.
+		assertTrue(SearchQuery.parse("menu:Process blur").admits(commands));
+		assertFalse(SearchQuery.parse("menu:Process blur").admits(web));
+		assertTrue(SearchQuery.parse("-menu:Plugins blur").admits(web));
+	}
+
+	@Test
+	public void testSearch() {
+		final Searcher searcher = new TestSearcher("Commands");
+		assertEquals(Arrays.asList("gauss blur", "median"), names(SearchQuery
+			.parse("gauss blur median").search(searcher, false)));
+		assertEquals(Arrays.asList("gauss blur"), names(SearchQuery.parse(
+			"-MEDIAN \"gauss\"").search(searcher, false)));
+	}
+
+	// -- Helper methods --
+
+	private List<String> strings(final SearchQuery query) {
+		return query.clauses().stream().map(Object::toString) //
+			.collect(Collectors.toList());
+	}
+
+	private List<String> menuPath(final String path) {
+		return Collections.singletonList("menu:\"" + path + "\"");
+	}
+
+	private List<String> names(final List<SearchResult> results) {
+		return results.stream().map(SearchResult::name) //
+			.collect(Collectors.toList());
+	}
+
+	// -- Helper classes --
+
+	/** Searcher returning the same results for any text. */
+	private static class TestSearcher implements Searcher {
+
+		private final String title;
+		private final Set<String> fields;
+
+		public TestSearcher(final String title, final String... fields) {
+			this.title = title;
+			this.fields = Arrays.stream(fields).collect(Collectors.toSet());
+		}
+
+		@Override
+		public String title() {
+			return title;
+		}
+
+		@Override
+		public Set<String> supportedFields() {
+			return fields;
+		}
+
+		@Override
+		public List<SearchResult> search(final String text, final boolean fuzzy) {
+			return Arrays.stream(new String[] { "gauss blur", "median" }) //
+				.map(TestResult::new).collect(Collectors.toList());
+		}
+	}
+
+	private static class TestResult implements SearchResult {
+
+		private final String name;
+
+		public TestResult(final String name) {
+			this.name = name;
+		}
+
+		@Override
+		public String name() {
+			return name;
+		}
+
+		@Override
+		public String iconPath() {
+			return null;
+		}
+
+		@Override
+		public Map<String, String> properties() {
+			return Collections.emptyMap();
+		}
+	}
+}
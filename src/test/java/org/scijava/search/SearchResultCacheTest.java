@@ -0,0 +1,99 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link SearchResultCache}.
+ *
+ * @author Curtis Rueden
+ */
+public class SearchResultCacheTest {
+
+	@Test
+	public void testRepeatedQuery() {
+		final CountingSearcher searcher = new CountingSearcher();
+		final SearchResultCache cache = new SearchResultCache(8, 60000);
+		final SearchQuery query = SearchQuery.parse("blur");
+		final List<SearchResult> results = cache.search(searcher, query, true);
+		assertSame(results, cache.search(searcher, query, true));
+		assertEquals(1, searcher.count);
+	}
+
+	@Test
+	public void testExpiry() {
+		final CountingSearcher searcher = new CountingSearcher();
+		final SearchResultCache cache = new SearchResultCache(8, 0);
+		final SearchQuery query = SearchQuery.parse("blur");
+		cache.search(searcher, query, true);
+		cache.search(searcher, query, true);
+		// NB: Expired results are neither reused, nor refined.
+		cache.search(searcher, SearchQuery.parse("blurry"), true);
+		assertEquals(3, searcher.count);
+	}
+
+	// -- Helper classes --
+
+	/** Searcher which counts its searches, and refines any longer query. */
+	private static class CountingSearcher implements Searcher {
+
+		private int count;
+
+		@Override
+		public String title() {
+			return "Counting";
+		}
+
+		@Override
+		public List<SearchResult> search(final String text, final boolean fuzzy) {
+			count++;
+			return new ArrayList<>();
+		}
+
+		@Override
+		public boolean refines(final String previous, final String text) {
+			return text.startsWith(previous);
+		}
+
+		@Override
+		public List<SearchResult> refine(final List<SearchResult> previous,
+			final String text, final boolean fuzzy)
+		{
+			return new ArrayList<>(previous);
+		}
+	}
+}
@@ -0,0 +1,150 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.scijava.Context;
+import org.scijava.module.ModuleService;
+import org.scijava.plugin.PluginService;
+import org.scijava.search.module.ModuleSearcher;
+
+/**
+ * Benchmarks {@link SearchService#actions} and the cost of a query to the
+ * local searchers, i.e. all but those which query remote servers.
+ * <p>
+ * The per-query cost is measured via {@link SearchService#searchNow}. The
+ * end-to-end latency of a {@link DefaultSearchOperation}, from query to the
+ * last local searcher reporting, is measured separately: it includes the
+ * operation's typing delay. Each invocation uses a new operation, so that no
+ * results are ever served from its cache; so it also includes creating the
+ * operation's searchers.
+ * </p>
+ *
+ * @author Curtis Rueden
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchServiceBenchmark {
+
+	@Param({ "10000", "50000" })
+	private int size;
+
+	private Context context;
+	private SearchService searchService;
+	private SearchResult result;
+	private SearchOptions localOnly;
+	private Set<Class<?>> localSearchers;
+	private int queryIndex;
+
+	@Setup
+	public void setUp() {
+		context = new Context();
+		context.service(ModuleService.class).addModules(SearchCorpus.modules(
+			size));
+		searchService = context.service(SearchService.class);
+
+		final ModuleSearcher searcher = new ModuleSearcher();
+		context.inject(searcher);
+		result = searcher.search("gauss", false).get(0);
+
+		// NB: Network latency would swamp everything else; leave it out.
+		final PluginService pluginService = context.service(PluginService.class);
+		localOnly = new SearchOptions().filter(s -> !SearcherCost.of(pluginService
+			.getPlugin(s.getClass(), Searcher.class)).isExpensive());
+		localSearchers = pluginService.createInstancesOfType(Searcher.class)
+			.stream().filter(localOnly.getFilter()).map(Object::getClass) //
+			.collect(Collectors.toSet());
+	}
+
+	@TearDown
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Benchmark
+	public List<SearchAction> actions() {
+		return searchService.actions(result);
+	}
+
+	@Benchmark
+	public List<SearchEvent> searchNow() {
+		return searchService.searchNow(nextQuery(), localOnly);
+	}
+
+	@Benchmark
+	public void debouncedOperation() throws InterruptedException {
+		final String query = nextQuery();
+		final CountDownLatch remaining = //
+			new CountDownLatch(localSearchers.size());
+		final SearchOperation operation = searchService.search(event -> {
+			if (localSearchers.contains(event.searcher().getClass())) {
+				remaining.countDown();
+			}
+		});
+		try {
+			operation.search(query);
+			if (!remaining.await(1, TimeUnit.MINUTES)) {
+				throw new IllegalStateException("Search did not complete: " + query);
+			}
+		}
+		finally {
+			// NB: Terminate before the expensive searchers would be launched.
+			operation.terminate();
+		}
+	}
+
+	// -- Helper methods --
+
+	private String nextQuery() {
+		final List<String> queries = SearchCorpus.queries();
+		return queries.get(queryIndex++ % queries.size());
+	}
+}
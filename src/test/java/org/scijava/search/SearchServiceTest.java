@@ -0,0 +1,102 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.MenuPath;
+import org.scijava.command.CommandInfo;
+import org.scijava.module.ModuleInfo;
+import org.scijava.module.ModuleService;
+import org.scijava.search.module.ModuleSearcher;
+import org.scijava.search.module.TestCommand;
+
+/**
+ * Tests the synchronous search methods of {@link SearchService}.
+ *
+ * @author Curtis Rueden
+ */
+public class SearchServiceTest {
+
+	private Context context;
+	private SearchService searchService;
+	private final SearchOptions modulesOnly = new SearchOptions().filter(
+		searcher -> searcher instanceof ModuleSearcher);
+
+	@Before
+	public void setUp() {
+		context = new Context();
+		searchService = context.service(SearchService.class);
+		final ModuleInfo info = new CommandInfo(TestCommand.class);
+		info.setLabel("Do something silly");
+		info.setMenuPath(new MenuPath("Plugins>Silliness>Do something silly"));
+		context.service(ModuleService.class).addModule(info);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testSearchNow() {
+		final List<SearchEvent> events = //
+			searchService.searchNow("silly", modulesOnly);
+		assertEquals(1, events.size());
+		assertTrue(events.get(0).searcher() instanceof ModuleSearcher);
+		assertTrue(containsResult(events.get(0), "Do something silly"));
+	}
+
+	@Test
+	public void testSearchNowBatch() {
+		final Map<String, List<SearchEvent>> results = searchService.searchNow(
+			Arrays.asList("silly", "something", "nonsense"), modulesOnly);
+		assertEquals(Arrays.asList("silly", "something", "nonsense"), //
+			Arrays.asList(results.keySet().toArray()));
+		assertTrue(containsResult(results.get("silly").get(0),
+			"Do something silly"));
+		assertTrue(containsResult(results.get("something").get(0),
+			"Do something silly"));
+		assertTrue(results.get("nonsense").get(0).results().isEmpty());
+	}
+
+	private boolean containsResult(final SearchEvent event, final String name) {
+		return event.results().stream().anyMatch(r -> name.equals(r.name()));
+	}
+}
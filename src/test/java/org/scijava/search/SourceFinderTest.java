@@ -29,6 +29,7 @@
 package org.scijava.search;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.net.URL;
@@ -88,4 +89,14 @@ public class SourceFinderTest {
 		String actual = url.getPath();
 		assertTrue("Unexpected path: " + actual, actual.matches(expected));
 	}
+
+	/** Tests that {@link ArtifactMetadata} is parsed once per artifact. */
+	@Test
+	public void testMetadataIsCached() {
+		final ArtifactMetadata metadata = ArtifactMetadata.of(Context.class);
+		assertTrue(metadata.hasPOM());
+		assertSame(metadata, ArtifactMetadata.of(Context.class));
+		// NB: Classes from the same JAR share its metadata.
+		assertSame(metadata, ArtifactMetadata.of(LogService.class));
+	}
 }
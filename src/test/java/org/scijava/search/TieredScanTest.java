@@ -0,0 +1,69 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TieredScan}.
+ *
+ * @author Curtis Rueden
+ */
+public class TieredScanTest {
+
+	private static final List<Predicate<String>> TIERS = Arrays.asList(
+		s -> s.startsWith("ab"), s -> s.contains("b"), s -> s.endsWith("z"));
+
+	@Test
+	public void testOrder() {
+		final List<String> items = Arrays.asList("xbz", "abc", "qqz", "bab",
+			"nope", "abz", "abc");
+		assertEquals(Arrays.asList("abc", "abz", "xbz", "bab", "qqz"), //
+			TieredScan.scan(items, TIERS, false));
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		final List<String> items = new ArrayList<>();
+		for (int i = 0; i < 100000; i++) {
+			items.add(Integer.toString(i * 7919, 36));
+		}
+		final List<String> sequential = TieredScan.scan(items, TIERS, false);
+		assertEquals(sequential, TieredScan.scan(items, TIERS, true));
+		assertEquals(sequential, TieredScan.scan(items, TIERS));
+	}
+}
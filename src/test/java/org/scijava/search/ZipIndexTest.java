@@ -0,0 +1,182 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests {@link ZipIndex}.
+ *
+ * @author Curtis Rueden
+ */
+public class ZipIndexTest {
+
+	private static final byte[] DEFLATED = ("package org.example;\n" +
+		"public class Deflated {}\n").getBytes(StandardCharsets.UTF_8);
+	private static final byte[] STORED = ("package org.example;\n" +
+		"public class Stored {}\n").getBytes(StandardCharsets.UTF_8);
+
+	private File jar;
+
+	@Before
+	public void setUp() throws IOException {
+		jar = File.createTempFile("zip-index-test-", "-sources.jar");
+		try (final ZipOutputStream out = new ZipOutputStream(
+			new FileOutputStream(jar)))
+		{
+			out.setComment("an archive comment");
+			out.putNextEntry(new ZipEntry("META-INF/MANIFEST.MF"));
+			out.write("Manifest-Version: 1.0\n".getBytes(StandardCharsets.UTF_8));
+			out.putNextEntry(new ZipEntry("org/example/Deflated.java"));
+			out.write(DEFLATED);
+			final ZipEntry stored = new ZipEntry("org/example/Stored.java");
+			stored.setMethod(ZipEntry.STORED);
+			stored.setSize(STORED.length);
+			final CRC32 crc = new CRC32();
+			crc.update(STORED);
+			stored.setCrc(crc.getValue());
+			out.putNextEntry(stored);
+			out.write(STORED);
+		}
+	}
+
+	@After
+	public void tearDown() {
+		jar.delete();
+	}
+
+	@Test
+	public void testRead() throws IOException {
+		final ZipIndex index = ZipIndex.of(jar);
+		assertTrue(index.contains("org/example/Deflated.java"));
+		assertArrayEquals(DEFLATED, index.read("org/example/Deflated.java"));
+		assertArrayEquals(STORED, index.read("org/example/Stored.java"));
+		assertNull(index.read("org/example/Missing.java"));
+		// NB: Only source files are indexed.
+		assertFalse(index.contains("META-INF/MANIFEST.MF"));
+	}
+
+	@Test
+	public void testBadCentralDirectoryOffset() throws IOException {
+		// Point the end of central directory record past the end of the file.
+		try (final RandomAccessFile raf = new RandomAccessFile(jar, "rw")) {
+			final int eocd = eocd(raf);
+			raf.seek(eocd + 16);
+			raf.write(new byte[] { 0, 0, 0, 0x7f });
+		}
+		assertNotIndexed();
+	}
+
+	@Test
+	public void testTruncatedCentralDirectory() throws IOException {
+		// Claim many more entries than the central directory holds.
+		try (final RandomAccessFile raf = new RandomAccessFile(jar, "rw")) {
+			final int eocd = eocd(raf);
+			raf.seek(eocd + 10);
+			raf.write(new byte[] { (byte) 0xf0, 0x0f });
+		}
+		assertNotIndexed();
+	}
+
+	@Test
+	public void testTruncatedEntry() throws IOException {
+		// Claim more uncompressed bytes than the deflated data holds.
+		try (final RandomAccessFile raf = new RandomAccessFile(jar, "rw")) {
+			final int cen = cen(raf, "org/example/Deflated.java");
+			raf.seek(cen + 24);
+			raf.write(DEFLATED.length + 10);
+		}
+		final ZipIndex index = ZipIndex.of(jar);
+		try {
+			index.read("org/example/Deflated.java");
+			fail("Truncated entry was read");
+		}
+		catch (final IOException exc) {
+			// NB: Expected; a partial entry must not pass for the whole.
+		}
+	}
+
+	// -- Helper methods --
+
+	private void assertNotIndexed() {
+		try {
+			ZipIndex.of(jar);
+			fail("Malformed archive was indexed");
+		}
+		catch (final IOException exc) {
+			// NB: Expected; malformed archives are reported as I/O errors.
+		}
+	}
+
+	/** Finds the central directory header of the given entry. */
+	private static int cen(final RandomAccessFile raf, final String name)
+		throws IOException
+	{
+		final byte[] bytes = new byte[(int) raf.length()];
+		raf.seek(0);
+		raf.readFully(bytes);
+		final byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+		for (int p = 0; p + 46 + nameBytes.length <= bytes.length; p++) {
+			if (bytes[p] != 'P' || bytes[p + 1] != 'K' || bytes[p + 2] != 1 ||
+				bytes[p + 3] != 2) continue;
+			if (new String(bytes, p + 46, nameBytes.length,
+				StandardCharsets.UTF_8).equals(name)) return p;
+		}
+		throw new IOException("No central directory header for " + name);
+	}
+
+	/** Finds the end of central directory record, after the comment. */
+	private static int eocd(final RandomAccessFile raf) throws IOException {
+		final byte[] bytes = new byte[(int) raf.length()];
+		raf.readFully(bytes);
+		for (int p = bytes.length - 22; p >= 0; p--) {
+			if (bytes[p] == 'P' && bytes[p + 1] == 'K' && bytes[p + 2] == 5 &&
+				bytes[p + 3] == 6) return p;
+		}
+		throw new IOException("No end of central directory record");
+	}
+}
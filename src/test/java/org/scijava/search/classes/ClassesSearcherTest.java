@@ -0,0 +1,129 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.classes;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.search.SearchResult;
+import org.scijava.search.index.SearchIndexService;
+
+/**
+ * Tests {@link ClassesSearcher}.
+ *
+ * @author Curtis Rueden
+ */
+public class ClassesSearcherTest {
+
+	private Context context;
+	private SearchIndexService searchIndexService;
+	private ClassesSearcher searcher;
+
+	@Before
+	public void setUp() {
+		TestClassesSearcher.set(String.class, StringBuilder.class, Integer.class);
+		context = new Context();
+		searchIndexService = context.service(SearchIndexService.class);
+		searcher = new TestClassesSearcher();
+		context.inject(searcher);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testLoadedClasses() {
+		assertEquals(Arrays.asList(String.class, StringBuilder.class), //
+			classes(searcher.search("string", false)));
+
+		// NB: Class loaders append newly loaded classes to their list.
+		TestClassesSearcher.set(String.class, StringBuilder.class, Integer.class,
+			StringBuffer.class);
+		assertEquals(Arrays.asList(String.class, StringBuilder.class,
+			StringBuffer.class), classes(searcher.search("string", false)));
+	}
+
+	@Test
+	public void testOtherClasses() {
+		searcher.search("string", false);
+		// NB: Classes which the index does not cover must still be found.
+		TestClassesSearcher.set(Long.class, Integer.class);
+		final List<Class<?>> results = classes(searcher.search("integer", false));
+		assertEquals(1, results.size());
+		assertTrue(results.contains(Integer.class));
+	}
+
+	@Test
+	public void testIndexIsShared() {
+		final ClassesSearcher other = new TestClassesSearcher();
+		context.inject(other);
+		assertSame(searchIndexService.index(searcher), //
+			searchIndexService.index(other));
+		assertFalse(searchIndexService.isIndexer(searcher));
+		assertFalse(searchIndexService.isIndexer(other));
+		assertTrue(searchIndexService.snapshots().containsKey(
+			TestClassesSearcher.class.getName()));
+	}
+
+	private List<Class<?>> classes(final List<SearchResult> results) {
+		return results.stream().map(r -> ((ClassSearchResult) r).clazz()) //
+			.collect(Collectors.toList());
+	}
+
+	// -- Helper classes --
+
+	/** Searches a given list of classes, rather than the loaded ones. */
+	public static class TestClassesSearcher extends ClassesSearcher {
+
+		private static volatile List<Class<?>> classes = new ArrayList<>();
+
+		public static void set(final Class<?>... c) {
+			classes = Arrays.asList(c);
+		}
+
+		@Override
+		public List<Class<?>> documents() {
+			return new ArrayList<>(classes);
+		}
+	}
+}
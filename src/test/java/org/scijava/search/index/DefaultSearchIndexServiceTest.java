@@ -0,0 +1,129 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.command.CommandInfo;
+import org.scijava.module.ModuleInfo;
+import org.scijava.module.ModuleService;
+import org.scijava.plugin.PluginService;
+import org.scijava.search.Searcher;
+import org.scijava.search.module.ModuleSearcher;
+import org.scijava.search.module.TestCommand;
+
+/**
+ * Tests {@link DefaultSearchIndexService}.
+ *
+ * @author Curtis Rueden
+ */
+public class DefaultSearchIndexServiceTest {
+
+	private Context context;
+	private SearchIndexService searchIndexService;
+	private PluginService pluginService;
+
+	@Before
+	public void setUp() {
+		context = new Context();
+		searchIndexService = context.service(SearchIndexService.class);
+		pluginService = context.service(PluginService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testIndexIsShared() {
+		assertSame(searchIndexService.index(moduleSearcher()), //
+			searchIndexService.index(moduleSearcher()));
+	}
+
+	@Test
+	public void testIndexerIsOwned() {
+		final ModuleSearcher searcher = moduleSearcher();
+		searchIndexService.index(searcher);
+		// NB: The index must not hold on to whichever instance asked first.
+		assertFalse(searchIndexService.isIndexer(searcher));
+	}
+
+	@Test
+	public void testModuleEventsAppliedOnce() {
+		final ModuleSearcher[] searchers = { moduleSearcher(), moduleSearcher(),
+			moduleSearcher() };
+		final SnapshotIndex<ModuleInfo> index = //
+			searchIndexService.index(searchers[0]);
+		final int segments = index.snapshot().segmentCount();
+		final int size = index.snapshot().size();
+
+		final ModuleInfo info = new CommandInfo(TestCommand.class);
+		info.setLabel("Unsharp Mask");
+		context.service(ModuleService.class).addModule(info);
+
+		assertEquals(size + 1, index.snapshot().size());
+		// NB: One new segment at most, not one per searcher; fewer if compacted.
+		assertTrue(index.snapshot().segmentCount() <= segments + 1);
+	}
+
+	@Test
+	public void testSnapshots() {
+		final ModuleInfo info = new CommandInfo(TestCommand.class);
+		info.setLabel("Gaussian Blur");
+		context.service(ModuleService.class).addModule(info);
+
+		searchIndexService.index(moduleSearcher()).snapshot();
+		final Map<String, IndexSnapshot<?>> snapshots = //
+			searchIndexService.snapshots();
+		final IndexSnapshot<?> snapshot = //
+			snapshots.get(ModuleSearcher.class.getName());
+		assertNotNull(snapshot);
+		assertTrue(snapshot.size() > 0);
+		assertTrue(searchIndexService.footprint() > 0);
+	}
+
+	// -- Helper methods --
+
+	private ModuleSearcher moduleSearcher() {
+		return (ModuleSearcher) pluginService.createInstance(pluginService
+			.getPlugin(ModuleSearcher.class, Searcher.class));
+	}
+}
@@ -0,0 +1,114 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+import org.scijava.search.index.FullTextIndex.Field;
+
+/**
+ * Tests {@link FullTextIndex}.
+ *
+ * @author Curtis Rueden
+ */
+public class FullTextIndexTest {
+
+	@Test
+	public void testTerms() {
+		assertEquals(Arrays.asList("gaussian", "blur", "sigma"), //
+			FullTextIndex.terms("GaussianBlur (sigmas)"));
+		assertEquals(Arrays.asList("3d", "image", "property"), //
+			FullTextIndex.terms("3D images: properties, Image"));
+		assertEquals(Collections.emptyList(), FullTextIndex.terms("a - b"));
+	}
+
+	@Test
+	public void testStem() {
+		assertEquals("property", FullTextIndex.stem("properties"));
+		assertEquals("kernel", FullTextIndex.stem("kernels"));
+		assertEquals("mask", FullTextIndex.stem("masks"));
+		assertEquals("gaussian", FullTextIndex.stem("gaussian"));
+		assertEquals("focus", FullTextIndex.stem("focus"));
+		assertEquals("gauss", FullTextIndex.stem("gauss"));
+	}
+
+	@Test
+	public void testScore() {
+		final FullTextIndex index = new FullTextIndex(Arrays.asList(
+			fields("Gaussian Blur", "Blurs with the given sigma."),
+			fields("Median", "Replaces each pixel with the median."),
+			fields("Difference of Gaussians", "Subtracts two Gaussian blurs."),
+			fields("Unsharp Mask", "Sharpens by subtracting a blurred copy.")));
+
+		final List<Integer> ids = new ArrayList<>();
+		final List<Double> scores = new ArrayList<>();
+		final List<String> terms = FullTextIndex.terms("gaussian blur");
+		final double[] idf = terms.stream().mapToDouble(t -> FullTextIndex.idf(
+			index.size(), index.frequency(t))).toArray();
+		index.score(terms, idf, index.totalLength() / index.size(), (id,
+			score) -> {
+			ids.add(id);
+			scores.add(score);
+		});
+
+		// NB: "blurred" is not a form of "blur" to a light stemmer.
+		assertEquals(Arrays.asList(0, 2), ids);
+		// Matches in the title count more than those in the description.
+		assertTrue(scores.get(0) > scores.get(1));
+	}
+
+	@Test
+	public void testRank() {
+		final IndexSnapshot<String> snapshot = new IndexSnapshot<>(Arrays.asList(
+			"Median", "Gaussian Blur", "Blur"), Function.identity(), this::fields);
+		assertEquals(Arrays.asList("Blur", "Gaussian Blur"), snapshot.rank("blur"));
+		// NB: Shorter documents rank higher; re-added ones are not duplicated.
+		assertEquals(Arrays.asList("Blur", "Gaussian Blur"), snapshot.plus(Arrays
+			.asList("Blur")).rank("blurs"));
+	}
+
+	// -- Helper methods --
+
+	private List<Field> fields(final String title, final String description) {
+		return Arrays.asList(new Field(title, 3), new Field(description, 1));
+	}
+
+	private List<Field> fields(final String title) {
+		return Collections.singletonList(new Field(title, 1));
+	}
+}
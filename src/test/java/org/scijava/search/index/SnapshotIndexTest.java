@@ -0,0 +1,138 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link SnapshotIndex} and {@link IndexSnapshot}.
+ *
+ * @author Curtis Rueden
+ */
+public class SnapshotIndexTest {
+
+	private final List<String> corpus = new ArrayList<>(Arrays.asList(
+		"gaussian blur", "median", "unsharp mask"));
+
+	private final List<Runnable> pending = new ArrayList<>();
+
+	private final SnapshotIndex<String> index = new SnapshotIndex<>(
+		() -> new ArrayList<>(corpus), Function.identity(), pending::add);
+
+	@Test
+	public void testSnapshotsAreImmutable() {
+		assertFalse(index.isBuilt());
+		final IndexSnapshot<String> before = index.snapshot();
+		assertTrue(index.isBuilt());
+		assertSame(before, index.snapshot());
+
+		add("blurry");
+		final IndexSnapshot<String> after = index.snapshot();
+		assertEquals(Arrays.asList("gaussian blur"), candidates(before, "blur"));
+		assertEquals(Arrays.asList("gaussian blur", "blurry"), //
+			candidates(after, "blur"));
+		assertEquals(2, after.segmentCount());
+	}
+
+	@Test
+	public void testRemoveAndReadd() {
+		index.snapshot();
+		remove("median");
+		assertEquals(Arrays.asList("gaussian blur", "unsharp mask"), //
+			index.snapshot().items());
+		assertEquals(Collections.emptyList(), candidates(index.snapshot(), "med"));
+
+		// NB: An updated item moves to the end, and is not duplicated.
+		index.update(Arrays.asList("gaussian blur"), Arrays.asList(
+			"gaussian blur"));
+		assertEquals(Arrays.asList("unsharp mask", "gaussian blur"), //
+			index.snapshot().items());
+		assertEquals(Arrays.asList("gaussian blur"), //
+			candidates(index.snapshot(), "gauss"));
+	}
+
+	@Test
+	public void testRepeatedUpdates() {
+		index.snapshot();
+		// NB: Several listeners may apply the same change to a shared index.
+		add("blurry");
+		index.add(Collections.singletonList("blurry"));
+		remove("median");
+		remove("median");
+		assertEquals(Arrays.asList("gaussian blur", "unsharp mask", "blurry"), //
+			index.snapshot().items());
+	}
+
+	@Test
+	public void testRebuild() {
+		index.snapshot();
+		for (int i = 0; i < 9; i++) add("item" + i);
+		assertEquals(10, index.snapshot().segmentCount());
+
+		// The merge happens in the background; meanwhile, readers are unaffected.
+		assertEquals(1, pending.size());
+		final IndexSnapshot<String> before = index.snapshot();
+		pending.remove(0).run();
+		final IndexSnapshot<String> after = index.snapshot();
+		assertEquals(10, before.segmentCount());
+		assertEquals(1, after.segmentCount());
+		assertEquals(before.items(), after.items());
+		assertEquals(Arrays.asList("item3"), candidates(after, "item3"));
+	}
+
+	// -- Helper methods --
+
+	private void add(final String item) {
+		corpus.add(item);
+		index.add(Collections.singletonList(item));
+	}
+
+	private void remove(final String item) {
+		corpus.remove(item);
+		index.remove(Collections.singleton(item));
+	}
+
+	private List<String> candidates(final IndexSnapshot<String> snapshot,
+		final String text)
+	{
+		return snapshot.candidates(Collections.singleton(text));
+	}
+}
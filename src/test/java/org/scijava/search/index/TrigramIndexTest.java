@@ -0,0 +1,91 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.index;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link TrigramIndex}.
+ *
+ * @author Curtis Rueden
+ */
+public class TrigramIndexTest {
+
+	private final TrigramIndex index = new TrigramIndex(Arrays.asList(
+		"gaussian blur", "gauss fit", "median", "unsharp mask", "blurry"));
+
+	@Test
+	public void testCandidates() {
+		assertArrayEquals(new int[] { 0, 1 }, candidates("gauss"));
+		assertArrayEquals(new int[] { 0, 4 }, candidates("blur"));
+		assertArrayEquals(new int[] { 0 }, candidates("gauss", "blur"));
+		assertArrayEquals(new int[0], candidates("nothing"));
+	}
+
+	@Test
+	public void testShortSubstrings() {
+		assertNull(candidates("ga"));
+		assertNull(candidates(""));
+		// NB: Short substrings do not narrow, but do not widen, either.
+		assertArrayEquals(new int[] { 3 }, candidates("ma", "mask"));
+	}
+
+	@Test
+	public void testCandidatesAreSuperset() {
+		final List<String> docs = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			docs.add(Integer.toString(i * 7919, 36) + "." + Integer.toString(i, 36));
+		}
+		final TrigramIndex big = new TrigramIndex(docs);
+		for (final String query : Arrays.asList("abc", "z1", "10.", "x9k", "q.1")) {
+			final int[] expected = IntStream.range(0, docs.size()) //
+				.filter(i -> docs.get(i).contains(query)).toArray();
+			final int[] actual = big.candidates(Collections.singleton(query));
+			if (actual == null) continue;
+			// Every actual match must be among the candidates.
+			final int[] verified = Arrays.stream(actual) //
+				.filter(i -> docs.get(i).contains(query)).toArray();
+			assertArrayEquals(query, expected, verified);
+		}
+	}
+
+	private int[] candidates(final String... substrings) {
+		return index.candidates(Arrays.asList(substrings));
+	}
+}
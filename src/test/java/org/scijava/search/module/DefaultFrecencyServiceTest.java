@@ -0,0 +1,88 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.module;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.prefs.PrefService;
+
+/**
+ * Tests {@link DefaultFrecencyService}.
+ *
+ * @author Curtis Rueden
+ */
+public class DefaultFrecencyServiceTest {
+
+	private static final long WEEK = TimeUnit.DAYS.toMillis(7);
+
+	private Context context;
+	private DefaultFrecencyService frecencyService;
+
+	@Before
+	public void setUp() {
+		context = new Context();
+		context.getService(PrefService.class).clear(DefaultFrecencyService.class);
+		frecencyService = (DefaultFrecencyService) //
+			context.getService(FrecencyService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.getService(PrefService.class).clear(DefaultFrecencyService.class);
+		context.dispose();
+	}
+
+	@Test
+	public void testScores() {
+		final long now = 1_700_000_000_000L;
+		frecencyService.record("often", now);
+		frecencyService.record("often", now);
+		frecencyService.record("once", now);
+		assertEquals(2, frecencyService.score("often", now), 1e-9);
+		assertEquals(1, frecencyService.score("once", now), 1e-9);
+		assertEquals(0, frecencyService.score("never", now), 0);
+	}
+
+	@Test
+	public void testDecay() {
+		final long then = 1_700_000_000_000L;
+		frecencyService.record("old", then);
+		frecencyService.record("old", then + WEEK);
+		// One run a week ago (weight 1/2) plus one run now (weight 1).
+		assertEquals(1.5, frecencyService.score("old", then + WEEK), 1e-9);
+		assertEquals(0.375, frecencyService.score("old", then + 3 * WEEK), 1e-9);
+	}
+}
@@ -0,0 +1,100 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.module;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.command.CommandInfo;
+import org.scijava.module.ModuleInfo;
+
+/**
+ * Tests {@link DefaultModuleResolutionService}.
+ *
+ * @author Curtis Rueden
+ */
+public class DefaultModuleResolutionServiceTest {
+
+	private Context context;
+	private ModuleResolutionService resolutionService;
+
+	@Before
+	public void setUp() {
+		context = new Context();
+		resolutionService = context.getService(ModuleResolutionService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testResolve() {
+		final ModuleInfo info = new CommandInfo(TestCommand.class);
+		final ModuleResolution resolution = resolutionService.resolve(info);
+		assertEquals(TestCommand.class, resolution.delegateClass());
+		assertEquals("https://github.com/scijava/scijava-search", //
+			resolution.projectURL());
+		// NB: The resolution is computed only once.
+		assertSame(resolution, resolutionService.resolve(info));
+		assertSame(resolution, resolutionService.resolveLater(info));
+	}
+
+	@Test
+	public void testUnloadableClass() {
+		final ModuleInfo info = new CommandInfo("org.example.NoSuchCommand");
+		final ModuleResolution resolution = resolutionService.resolve(info);
+		assertNull(resolution.delegateClass());
+		assertNull(resolution.sourceLocation());
+	}
+
+	@Test
+	public void testFailingResolution() {
+		final ModuleInfo info = new CommandInfo(TestCommand.class) {
+
+			@Override
+			public Class<?> loadDelegateClass() {
+				throw new AssertionError("Unexpected failure");
+			}
+		};
+		// NB: The failure must not leave the resolution pending forever.
+		final ModuleResolution resolution = resolutionService.resolve(info);
+		assertNull(resolution.delegateClass());
+		// A failed resolution is not cached, but attempted again.
+		assertNotSame(resolution, resolutionService.resolve(info));
+	}
+}
@@ -33,16 +33,23 @@ import org.junit.Test;
 import org.scijava.Context;
 import org.scijava.InstantiableException;
 import org.scijava.MenuPath;
+import org.scijava.ItemIO;
+import org.scijava.command.Command;
 import org.scijava.command.CommandInfo;
 import org.scijava.module.ModuleInfo;
 import org.scijava.module.ModuleService;
+import org.scijava.plugin.Parameter;
 import org.scijava.plugin.PluginInfo;
 import org.scijava.plugin.PluginService;
+import org.scijava.search.SearchQuery;
 import org.scijava.search.SearchResult;
 import org.scijava.search.Searcher;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
@@ -123,6 +130,121 @@ public class ModuleSearcherTest {
 		assertFalse(containsModule(results, "nolabel"));
 	}
 
+	@Test
+	public void testRefine() {
+		createTestModule("Do something silly", "");
+		createTestModule("Do something clever", "");
+		createTestModule("nolabel", "Do>something>silly");
+		assertTrue(moduleSearcher.refines("do s", "Do si"));
+		assertFalse(moduleSearcher.refines("do s", "do s.*"));
+		assertFalse(moduleSearcher.refines("", "do"));
+		List<SearchResult> previous = moduleSearcher.search("do s", true);
+		List<SearchResult> results = moduleSearcher.refine(previous, "do si", true);
+		assertEquals(identifiers(moduleSearcher.search("do si", true)),
+			identifiers(results));
+		assertTrue(containsModule(results, "nolabel"));
+		assertFalse(containsModule(results, "Do something clever"));
+		// NB: Refined results are the previous instances.
+		for (SearchResult result : results) {
+			assertTrue(previous.stream().anyMatch(r -> r == result));
+		}
+	}
+
+	@Test
+	public void testMatchingDescription() {
+		ModuleInfo info = new CommandInfo(TestCommand.class);
+		info.setLabel("Gaussian Blur");
+		info.setDescription("Smooths the image with a kernel of the given sigma.");
+		moduleService.addModule(info);
+		createTestModule("Unsharp Mask", "Process>Filters");
+		List<SearchResult> results = moduleSearcher.search("blur sigma", true);
+		assertTrue(containsModule(results, "Gaussian Blur"));
+		assertFalse(containsModule(results, "Unsharp Mask"));
+		List<SearchResult> previous = moduleSearcher.search("blur sigm", true);
+		assertFalse(containsModule(previous, "Gaussian Blur"));
+		assertEquals(identifiers(results),
+			identifiers(moduleSearcher.refine(previous, "blur sigma", true)));
+	}
+
+	@Test
+	public void testTypeQualifiers() {
+		ModuleInfo info = new CommandInfo(TypedCommand.class);
+		info.setLabel("Summarize List");
+		moduleService.addModule(info);
+		createTestModule("Summarize Nothing", "");
+		// NB: Types match by supertype, and by simple or full name.
+		assertTrue(containsModule(moduleSearcher.search("in:Collection", true),
+			"Summarize List"));
+		assertTrue(containsModule(moduleSearcher.search(
+			"in:java.util.List out:Number", true), "Summarize List"));
+		assertTrue(containsModule(moduleSearcher.search("out:Integer summ", true),
+			"Summarize List"));
+		assertFalse(containsModule(moduleSearcher.search("out:Integer summ", true),
+			"Summarize Nothing"));
+		assertFalse(containsModule(moduleSearcher.search("in:Integer", true),
+			"Summarize List"));
+		assertFalse(moduleSearcher.refines("in:Coll", "in:Collection"));
+	}
+
+	@Test
+	public void testFieldedQuery() {
+		createTestModule("Gaussian Blur", "Process>Filters>Gaussian Blur");
+		createTestModule("Blur Plugin", "Plugins>Blur Plugin");
+		List<SearchResult> results = moduleSearcher.search(
+			SearchQuery.parse("menu:Process blur"), true);
+		assertTrue(containsModule(results, "Gaussian Blur"));
+		assertFalse(containsModule(results, "Blur Plugin"));
+		results = moduleSearcher.search(SearchQuery.parse("blur -menu:process"),
+			true);
+		assertFalse(containsModule(results, "Gaussian Blur"));
+		assertTrue(containsModule(results, "Blur Plugin"));
+		results = moduleSearcher.search(SearchQuery.parse(
+			"menu:\"Process>Filters\" lang:java"), true);
+		assertTrue(containsModule(results, "Gaussian Blur"));
+		assertFalse(containsModule(results, "Blur Plugin"));
+		results = moduleSearcher.search(SearchQuery.parse(
+			"class:TestCommand blur"), true);
+		assertTrue(containsModule(results, "Blur Plugin"));
+		assertTrue(moduleSearcher.search(SearchQuery.parse("class:nothing blur"),
+			true).isEmpty());
+	}
+
+	@Test
+	public void testFieldOnlyQuery() {
+		createTestModule("Gaussian Blur", "Process>Filters>Gaussian Blur");
+		createTestModule("Blur Plugin", "Plugins>Blur Plugin");
+		List<SearchResult> results = moduleSearcher.search(SearchQuery.parse(
+			"lang:java"), true);
+		assertTrue(containsModule(results, "Gaussian Blur"));
+		assertTrue(containsModule(results, "Blur Plugin"));
+		results = moduleSearcher.search(SearchQuery.parse("class:TestCommand"),
+			true);
+		assertTrue(containsModule(results, "Blur Plugin"));
+		assertTrue(moduleSearcher.search(SearchQuery.parse("lang:groovy"), true)
+			.isEmpty());
+		// NB: Fields of other searchers do not select any modules.
+		assertTrue(moduleSearcher.search(SearchQuery.parse("cat:commands"), true)
+			.isEmpty());
+	}
+
+	public static class TypedCommand implements Command {
+
+		@Parameter
+		private ArrayList<String> list;
+
+		@Parameter(type = ItemIO.OUTPUT)
+		private Integer count;
+
+		@Override
+		public void run() {
+			count = list.size();
+		}
+	}
+
+	private List<String> identifiers(List<SearchResult> results) {
+		return results.stream().map(SearchResult::identifier).collect(Collectors.toList());
+	}
+
 	private boolean containsModule(List<SearchResult> results, String moduleName) {
 		boolean foundModule = false;
 		for(SearchResult result : results) {
@@ -0,0 +1,88 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.search.stats;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link LatencyHistogram}.
+ *
+ * @author Curtis Rueden
+ */
+public class LatencyHistogramTest {
+
+	@Test
+	public void testEmpty() {
+		final LatencyHistogram h = new LatencyHistogram();
+		assertEquals(0, h.count());
+		assertEquals(0, h.percentile(99));
+		assertEquals(0, h.mean(), 0);
+	}
+
+	@Test
+	public void testSmallValuesAreExact() {
+		final LatencyHistogram h = new LatencyHistogram();
+		for (int i = 1; i <= 10; i++) h.record(i);
+		assertEquals(10, h.count());
+		assertEquals(5, h.percentile(50));
+		assertEquals(10, h.percentile(100));
+		assertEquals(5.5, h.mean(), 1e-9);
+	}
+
+	@Test
+	public void testPercentilesWithinPrecision() {
+		final LatencyHistogram h = new LatencyHistogram();
+		for (long i = 1; i <= 100000; i++) h.record(i * 1000);
+		assertPrecise(50_000_000, h.percentile(50));
+		assertPrecise(90_000_000, h.percentile(90));
+		assertPrecise(99_000_000, h.percentile(99));
+		assertEquals(100_000_000, h.max());
+		assertEquals(100_000_000, h.percentile(100));
+	}
+
+	@Test
+	public void testReset() {
+		final LatencyHistogram h = new LatencyHistogram();
+		h.record(Long.MAX_VALUE);
+		h.record(-5);
+		assertEquals(2, h.count());
+		h.reset();
+		assertEquals(0, h.count());
+		assertEquals(0, h.max());
+	}
+
+	private void assertPrecise(final long expected, final long actual) {
+		final double error = Math.abs(actual - expected) / (double) expected;
+		assertTrue("Expected ~" + expected + " but was " + actual, error < 0.07);
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+import java.util.Locale;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link Highlighter}.
+ *
+ * @author Curtis Rueden
+ */
+public class HighlighterTest {
+
+	private final Highlighter highlighter = new Highlighter("<b>", "</b>");
+
+	@Test
+	public void testCaseInsensitive() {
+		assertEquals("<b>Gauss</b>ian Blur", //
+			highlighter.highlight("Gaussian Blur", "gAUSS"));
+	}
+
+	@Test
+	public void testCaseInsensitiveInAnyLocale() {
+		// NB: In Turkish, "I".toLowerCase() is a dotless i.
+		final Locale locale = Locale.getDefault();
+		Locale.setDefault(new Locale("tr", "TR"));
+		try {
+			assertEquals("<b>Image</b> Calculator", //
+				highlighter.highlight("Image Calculator", "IMAGE"));
+		}
+		finally {
+			Locale.setDefault(locale);
+		}
+	}
+
+	@Test
+	public void testMultipleTerms() {
+		assertEquals("<b>Gauss</b>ian <b>Blur</b> <b>blur</b>", //
+			highlighter.highlight("Gaussian Blur blur", "blur gauss"));
+	}
+
+	@Test
+	public void testOverlappingTermsAreMerged() {
+		assertEquals("<b>Gaussian</b> Blur", //
+			highlighter.highlight("Gaussian Blur", "gauss ssian"));
+	}
+
+	@Test
+	public void testMarkupIsNotMatched() {
+		assertEquals("<pre style=\"x\"><b>pre</b>view &#60;<b>b</b>&#62;</pre>", //
+			highlighter.highlight("<pre style=\"x\">preview &#60;b&#62;</pre>",
+				"pre b 60"));
+	}
+
+	@Test
+	public void testNoMatch() {
+		final String text = "Gaussian Blur";
+		assertSame(text, highlighter.highlight(text, "median"));
+		assertSame(text, highlighter.highlight(text, " "));
+	}
+}
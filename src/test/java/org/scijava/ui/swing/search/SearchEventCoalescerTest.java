@@ -0,0 +1,74 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.Test;
+import org.scijava.search.SearchEvent;
+
+/**
+ * Tests {@link SearchEventCoalescer}.
+ *
+ * @author Curtis Rueden
+ */
+public class SearchEventCoalescerTest {
+
+	@Test
+	public void testBurstIsDeliveredOnce() throws InterruptedException {
+		final List<List<SearchEvent>> batches = new ArrayList<>();
+		final CountDownLatch delivered = new CountDownLatch(1);
+		final SearchEventCoalescer coalescer = new SearchEventCoalescer(batch -> {
+			assertTrue(SwingUtilities.isEventDispatchThread());
+			batches.add(batch);
+			delivered.countDown();
+		});
+
+		final List<SearchEvent> events = new ArrayList<>();
+		for (int i = 0; i < 8; i++) {
+			events.add(new SearchEvent(null, Collections.emptyList(), false));
+		}
+		events.forEach(coalescer::searchCompleted);
+
+		assertTrue(delivered.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		assertEquals(1, batches.size());
+		assertEquals(events, batches.get(0));
+	}
+}
@@ -0,0 +1,120 @@
+/*
+ * #%L
+ * Search framework for SciJava applications.
+ * %%
+ * Copyright (C) 2017 - 2024 SciJava developers.
+ * %%
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ * 
+ * 1. Redistributions of source code must retain the above copyright notice,
+ *    this list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDERS OR CONTRIBUTORS BE
+ * LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR
+ * CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF
+ * SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS
+ * INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN
+ * CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE)
+ * ARISING IN ANY WAY OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE
+ * POSSIBILITY OF SUCH DAMAGE.
+ * #L%
+ */
+
+package org.scijava.ui.swing.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.scijava.Context;
+import org.scijava.log.LogService;
+import org.scijava.thread.ThreadService;
+
+/**
+ * Tests {@link SelectionPipeline}.
+ *
+ * @author Curtis Rueden
+ */
+public class SelectionPipelineTest {
+
+	private Context context;
+
+	@Before
+	public void setUp() {
+		context = new Context(ThreadService.class, LogService.class);
+	}
+
+	@After
+	public void tearDown() {
+		context.dispose();
+	}
+
+	@Test
+	public void testOnlyLatestIsApplied() throws InterruptedException {
+		final List<String> applied = Collections.synchronizedList(
+			new ArrayList<>());
+		final CountDownLatch done = new CountDownLatch(1);
+		final SelectionPipeline<Integer, String> pipeline =
+			new SelectionPipeline<>(context.getService(ThreadService.class), //
+				context.getService(LogService.class), "test", i -> {
+					sleep(20);
+					return "value " + i;
+				}, (i, value) -> {
+					assertTrue(SwingUtilities.isEventDispatchThread());
+					applied.add(value);
+					if (i == 10) done.countDown();
+				});
+
+		for (int i = 1; i <= 10; i++) pipeline.submit(i);
+
+		assertTrue(done.await(5, TimeUnit.SECONDS));
+		Thread.sleep(100);
+		assertEquals(Collections.singletonList("value 10"), applied);
+	}
+
+	@Test
+	public void testCancel() throws InterruptedException {
+		final List<String> applied = Collections.synchronizedList(
+			new ArrayList<>());
+		final SelectionPipeline<Integer, String> pipeline =
+			new SelectionPipeline<>(context.getService(ThreadService.class), //
+				context.getService(LogService.class), "test", i -> {
+					sleep(20);
+					return "value " + i;
+				}, (i, value) -> applied.add(value));
+
+		pipeline.submit(1);
+		pipeline.cancel();
+
+		Thread.sleep(200);
+		assertTrue(applied.isEmpty());
+	}
+
+	// -- Helper methods --
+
+	private static void sleep(final long ms) {
+		try {
+			Thread.sleep(ms);
+		}
+		catch (final InterruptedException exc) {
+			throw new RuntimeException(exc);
+		}
+	}
+}